@@ -0,0 +1,131 @@
+package com.example.project_tracker.aspects;
+
+import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.enums.AuditSnapshotMode;
+import com.example.project_tracker.service.AuditAggregator;
+import com.example.project_tracker.service.AuditPolicyService;
+import com.example.project_tracker.service.BenchmarkAuditLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the audit aspect on an advised method, compared with the aspect before
+ * per-method metadata caching and with an unadvised call.
+ * <p>
+ * Both aspects run through a real Spring AOP proxy and build an audit entry per call; the entry is
+ * kept in memory instead of being written. {@code authenticated=false} covers calls made without
+ * a security context, where the old aspect paid for a caught {@link NullPointerException}.
+ * {@code entityId=false} covers methods without a {@code Long} argument, where the old aspect
+ * generated a random UUID.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=AuditAspectBenchmark};
+ * the gc profiler is on by default and reports the allocation per call as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditAspectBenchmark {
+
+    @Param({"true", "false"})
+    public boolean authenticated;
+
+    @Param({"true", "false"})
+    public boolean entityId;
+
+    private AuditedTarget unadvised;
+    private AuditedTarget current;
+    private AuditedTarget legacy;
+    private final Object dto = new Object();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AuditPolicyService policy = new AuditPolicyService(new StandardEnvironment(), new SimpleMeterRegistry());
+
+        BenchmarkAuditLogService currentLogs = new BenchmarkAuditLogService(false);
+        current = proxy(new AuditAspect(currentLogs, new AuditSnapshotFactory(objectMapper, 100), policy,
+                new AuditAggregator(currentLogs)));
+
+        BenchmarkAuditLogService legacyLogs = new BenchmarkAuditLogService(true);
+        legacy = proxy(new LegacyAuditAspect(legacyLogs, new AuditSnapshotFactory(objectMapper, 100), policy,
+                new AuditAggregator(legacyLogs)));
+
+        unadvised = new AuditedTarget();
+
+        if (authenticated) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new TestingAuthenticationToken("manager@example.com", null, "ROLE_MANAGER"));
+        } else {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object baseline() {
+        return call(unadvised);
+    }
+
+    @Benchmark
+    public Object currentAspect() {
+        return call(current);
+    }
+
+    @Benchmark
+    public Object legacyAspect() {
+        return call(legacy);
+    }
+
+    private Object call(AuditedTarget target) {
+        return entityId ? target.update(42L, dto) : target.create(dto);
+    }
+
+    private static AuditedTarget proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AuditedTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /**
+     * Stand-in for a service with one audited update and one audited create.
+     */
+    public static class AuditedTarget {
+
+        @Auditable(actionType = "UPDATE", entityType = "Task", snapshot = AuditSnapshotMode.REFERENCE)
+        public Object update(Long id, Object dto) {
+            return dto;
+        }
+
+        @Auditable(actionType = "CREATE", entityType = "Task", snapshot = AuditSnapshotMode.REFERENCE)
+        public Object create(Object dto) {
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.project_tracker.aspects;
+
+import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.enums.AuditSnapshotMode;
+import com.example.project_tracker.service.AuditAggregator;
+import com.example.project_tracker.service.AuditPolicyService;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+/**
+ * The audit aspect as it was before per-method metadata caching, kept as the benchmark baseline.
+ * It looks the annotation up reflectively on every call, reads the user inside a try/catch and
+ * falls back to {@link UUID#randomUUID()} for the entity ID.
+ */
+@Aspect
+public class LegacyAuditAspect {
+
+    private final AuditLogServiceInterface auditLogService;
+    private final AuditSnapshotFactory auditSnapshotFactory;
+    private final AuditPolicyService auditPolicyService;
+    private final AuditAggregator auditAggregator;
+
+    public LegacyAuditAspect(AuditLogServiceInterface auditLogService, AuditSnapshotFactory auditSnapshotFactory,
+                             AuditPolicyService auditPolicyService, AuditAggregator auditAggregator) {
+        this.auditLogService = auditLogService;
+        this.auditSnapshotFactory = auditSnapshotFactory;
+        this.auditPolicyService = auditPolicyService;
+        this.auditAggregator = auditAggregator;
+    }
+
+    @Around("@annotation(com.example.project_tracker.annotations.Auditable)")
+    public Object logAudit(ProceedingJoinPoint joinPoint) throws Throwable {
+        AuditContext.Frame previous = AuditContext.enter();
+        try {
+            Object result = joinPoint.proceed();
+
+            MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
+            Auditable auditable = methodSignature.getMethod().getAnnotation(Auditable.class);
+
+            String actionType = auditable.actionType();
+            String entityType = auditable.entityType();
+
+            AuditPolicyService.Decision decision = auditPolicyService.decide(auditable);
+            if (decision != AuditPolicyService.Decision.RECORD) {
+                String actorName = getCurrentUser();
+                auditLogService.countAction(actionType, entityType, actorName);
+                if (decision == AuditPolicyService.Decision.AGGREGATE) {
+                    auditAggregator.increment(actionType, entityType, actorName);
+                }
+                return result;
+            }
+
+            String entityId = extractEntityIdFromArgs(joinPoint.getArgs());
+            String actorName = getCurrentUser();
+
+            AuditSnapshotMode mode = AuditSnapshotFactory.resolve(auditable.snapshot(), actionType);
+            Object snapshot = auditSnapshotFactory.snapshot(mode, AuditContext.before(), result);
+
+            auditLogService.logAction(actionType, entityType, entityId, actorName, snapshot);
+            return result;
+        } finally {
+            AuditContext.exit(previous);
+        }
+    }
+
+    private String extractEntityIdFromArgs(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Long) {
+                return arg.toString();
+            }
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private String getCurrentUser() {
+        try {
+            return SecurityContextHolder.getContext().getAuthentication().getName();
+        } catch (Exception e) {
+            return "SYSTEM";
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.project_tracker.repository;
+
+import com.example.project_tracker.models.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput and time-range query latency of the local segment store against MongoDB.
+ * <p>
+ * {@code write} adds {@value #WRITE_BATCH} records per invocation and is reported per record. The local
+ * store queues appends for its group-commit writer, which is given a long enqueue timeout here, so once
+ * the queue is full the append rate equals the rate at which groups are forced to disk. MongoDB receives
+ * the same records as one {@code insertMany} batch, as {@code AuditLogWriter} sends them.
+ * <p>
+ * {@code rangeScan} first loads {@code records} records spread over a week, then fetches every record
+ * of one entity type in a one-hour window, newest first: the query behind
+ * {@code GET /api/logs/entity/{entityType}}. MongoDB answers it from the
+ * {@code entity_type_timestamp} index.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=AuditStoreBenchmark}. The
+ * {@code mongo} runs need a MongoDB at {@code mongoUri} and fail at setup if it is not reachable;
+ * pass {@code -Dbenchmark.args="-p backend=local"} to run the local store alone. The benchmark drops
+ * and recreates the {@code audit_logs} collection of that database.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditStoreBenchmark {
+
+    private static final int WRITE_BATCH = 100;
+    private static final String[] ENTITY_TYPES = {"Task", "Project", "User", "Developer"};
+    private static final String[] ACTIONS = {"CREATE", "UPDATE", "DELETE"};
+
+    @Param({"local", "mongo"})
+    public String backend;
+
+    @Param("mongodb://localhost:27017/audit_benchmark")
+    public String mongoUri;
+
+    @Param("100000")
+    public int records;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Path directory;
+    private AuditSegmentStore store;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    private Instant windowFrom;
+    private Instant windowTo;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Instant end = Instant.now().minus(Duration.ofDays(1));
+        Instant start = end.minus(Duration.ofDays(7));
+        windowFrom = start.plus(Duration.ofDays(3));
+        windowTo = windowFrom.plus(Duration.ofHours(1));
+        long stepMillis = Duration.between(start, end).toMillis() / records;
+
+        switch (backend) {
+            case "local" -> {
+                directory = Files.createTempDirectory("audit-benchmark");
+                store = openStore();
+                for (int i = 0; i < records; i++) {
+                    store.append(record(start.plusMillis(i * stepMillis)));
+                }
+                // Stopping drains the queue; reopening recovers the segments as a restart would.
+                store.stop();
+                store = openStore();
+            }
+            case "mongo" -> {
+                openMongo();
+                List<AuditLog> batch = new ArrayList<>(WRITE_BATCH);
+                for (int i = 0; i < records; i++) {
+                    batch.add(record(start.plusMillis(i * stepMillis)));
+                    if (batch.size() == WRITE_BATCH) {
+                        mongoTemplate.insert(batch, AuditLog.class);
+                        batch.clear();
+                    }
+                }
+                mongoTemplate.insert(batch, AuditLog.class);
+            }
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (store != null) {
+            store.stop();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(WRITE_BATCH)
+    public void write() {
+        Instant now = Instant.now();
+        if (store != null) {
+            for (int i = 0; i < WRITE_BATCH; i++) {
+                store.append(record(now));
+            }
+        } else {
+            List<AuditLog> batch = new ArrayList<>(WRITE_BATCH);
+            for (int i = 0; i < WRITE_BATCH; i++) {
+                batch.add(record(now));
+            }
+            mongoTemplate.insert(batch, AuditLog.class);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<AuditLog> rangeScan() {
+        if (store != null) {
+            List<AuditLog> logs = new ArrayList<>();
+            store.scan(windowFrom, windowTo, null, log -> "task".equals(log.getEntityTypeKey()),
+                    (log, position) -> logs.add(log));
+            return logs;
+        }
+        Query query = new Query(Criteria.where("entityTypeKey").is("task")
+                .and("timestamp").gte(windowFrom).lt(windowTo))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp"));
+        return mongoTemplate.find(query, AuditLog.class);
+    }
+
+    private AuditSegmentStore openStore() throws IOException {
+        AuditSegmentStore opened = new AuditSegmentStore(objectMapper, new SimpleMeterRegistry(),
+                directory.toString(), 64L * 1024 * 1024, 64, 10_000, 500, TimeUnit.SECONDS.toMillis(30), 3650);
+        opened.start();
+        return opened;
+    }
+
+    private void openMongo() {
+        ConnectionString connectionString = new ConnectionString(mongoUri);
+        if (connectionString.getDatabase() == null) {
+            throw new IllegalArgumentException("mongoUri must name a database: " + mongoUri);
+        }
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(connectionString)
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(3, TimeUnit.SECONDS))
+                .build());
+        mongoTemplate = new MongoTemplate(mongoClient, connectionString.getDatabase());
+        try {
+            mongoTemplate.executeCommand("{ ping: 1 }");
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("MongoDB is not reachable at " + mongoUri
+                    + "; start one or run with -p backend=local", e);
+        }
+
+        mongoTemplate.dropCollection(AuditLog.class);
+        IndexOperations indexes = mongoTemplate.indexOps(AuditLog.class);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(AuditLog.class)
+                .forEach(indexes::ensureIndex);
+    }
+
+    private AuditLog record(Instant timestamp) {
+        long n = sequence++;
+        String entityType = ENTITY_TYPES[(int) (n % ENTITY_TYPES.length)];
+        AuditLog log = new AuditLog(ObjectId.get().toHexString(), ACTIONS[(int) (n % ACTIONS.length)], entityType,
+                Long.toString(n), timestamp, "manager@example.com", Map.of("entityId", n));
+        log.setEntityTypeKey(entityType.toLowerCase(Locale.ROOT));
+        log.setActorNameKey("manager@example.com");
+        return log;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.project_tracker.repository;
+
+import com.example.project_tracker.DTO.response.ProjectResponseDTO;
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.ProjectStatus;
+import com.example.project_tracker.enums.Roles;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.mapper.ProjectMapper;
+import com.example.project_tracker.mapper.TaskMapper;
+import com.example.project_tracker.models.Project;
+import com.example.project_tracker.models.Task;
+import com.example.project_tracker.models.User;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation of reading a project's tasks, and the project list, as managed entities mapped
+ * to DTOs against JPQL constructor projections straight into DTOs.
+ * <p>
+ * The data is {@code rows} tasks in one project and {@code rows} projects in an in-memory H2 database.
+ * {@code tasksAsEntities} and {@code projectsAsEntities} read as the services did before: a read-write
+ * transaction loading entities, mapped with {@link TaskMapper} or {@link ProjectMapper}, so Hibernate
+ * keeps a snapshot of every row and dirty-checks it on commit. {@code tasksAsDtos} and
+ * {@code projectsAsDtos} read as the services do now: {@code findDtosByProjectId} and {@code findAllDtos}
+ * in a read-only transaction. H2 answers from memory, so the difference is the ORM's share of the cost;
+ * over a network the query time is added to both.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=DtoProjectionBenchmark};
+ * the gc profiler is on by default and reports the allocation per read as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoProjectionBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private ProjectRepository projectRepository;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Long projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:dto_benchmark;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        taskRepository = context.getBean(TaskRepository.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        projectId = readWriteTransaction.execute(status -> {
+            User user = new User(null, "Dev", "dev@example.com", "secret", Set.of(), Roles.ROLE_DEVELOPER);
+            entityManager.persist(user);
+            Project project = null;
+            for (int i = 0; i < rows; i++) {
+                Project created = new Project(null, "Project " + i, "Description of project " + i,
+                        LocalDate.of(2026, 1, 1).plusDays(i % 365), ProjectStatus.STARTED, null, user);
+                entityManager.persist(created);
+                project = project != null ? project : created;
+                if (i % 1000 == 999) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    project = entityManager.getReference(Project.class, project.getId());
+                    user = entityManager.getReference(User.class, user.getId());
+                }
+            }
+            TaskStatus[] statuses = TaskStatus.values();
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(new Task(null, "Task " + i, "Description of task " + i,
+                        statuses[i % statuses.length], LocalDate.of(2026, 1, 1).plusDays(i % 365), project, user));
+                if (i % 1000 == 999) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    project = entityManager.getReference(Project.class, project.getId());
+                    user = entityManager.getReference(User.class, user.getId());
+                }
+            }
+            return project.getId();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> tasksAsEntities() {
+        return readWriteTransaction.execute(status ->
+                taskRepository.findByProjectId(projectId).stream().map(TaskMapper::toDTO).toList());
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> tasksAsDtos() {
+        return readOnlyTransaction.execute(status -> taskRepository.findDtosByProjectId(projectId));
+    }
+
+    @Benchmark
+    public List<ProjectResponseDTO> projectsAsEntities() {
+        return readWriteTransaction.execute(status ->
+                projectRepository.findAll().stream().map(ProjectMapper::toDTO).toList());
+    }
+
+    @Benchmark
+    public List<ProjectResponseDTO> projectsAsDtos() {
+        return readOnlyTransaction.execute(status -> projectRepository.findAllDtos());
+    }
+
+    /**
+     * Starts only the data source, JPA and the two repositories read here.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Task.class)
+    @EnableJpaRepositories(basePackageClasses = TaskRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = {TaskRepository.class, ProjectRepository.class}))
+    static class JpaOnly {
+    }
+}
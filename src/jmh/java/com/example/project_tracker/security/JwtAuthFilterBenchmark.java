@@ -0,0 +1,115 @@
+package com.example.project_tracker.security;
+
+import com.example.project_tracker.enums.Roles;
+import com.example.project_tracker.repository.RevokedTokenRepository;
+import com.example.project_tracker.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-request cost of authenticating a bearer token, with the verified-claims cache of {@link JwtUtils}
+ * disabled and enabled.
+ * <p>
+ * Requests cycle through {@value #TOKENS} valid tokens. With {@code verification=cold} the cache holds
+ * nothing, so every request pays for the signature check and claim parsing, as a client presenting a
+ * token for the first time does. With {@code verification=cached} every token is already cached, as for
+ * a client reusing its token, and a request only pays for the SHA-256 digest of the token and the lookup.
+ * <p>
+ * {@code verify} measures {@link JwtUtils#verify} alone and {@code filter} the whole {@link JwtAuthFilter}
+ * on a mock request. The filter loads users through an in-memory {@code UserDetailsService} and checks an
+ * empty revocation filter, so neither touches a database.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=JwtAuthFilterBenchmark};
+ * the gc profiler is on by default and reports the allocation per request as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    @Param({"cold", "cached"})
+    public String verification;
+
+    private JwtUtils jwtUtils;
+    private JwtAuthFilter filter;
+    private final String[] tokens = new String[TOKENS];
+    private final String[] headers = new String[TOKENS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long cacheSize = switch (verification) {
+            case "cold" -> 0;
+            case "cached" -> 10 * TOKENS;
+            default -> throw new IllegalArgumentException("Unknown verification: " + verification);
+        };
+        jwtUtils = new JwtUtils(new SimpleMeterRegistry(), cacheSize, false);
+
+        RevokedTokenRegistry revokedTokens = new RevokedTokenRegistry(mock(RevokedTokenRepository.class),
+                new SimpleMeterRegistry(), 10_000, 0.01);
+        revokedTokens.rebuild();
+        filter = new JwtAuthFilter(jwtUtils,
+                email -> new CustomUserDetails(1L, email, Roles.ROLE_DEVELOPER),
+                new TokenEpochRegistry(mock(UserRepository.class), false),
+                revokedTokens);
+
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtils.generateToken("user" + i + "@example.com");
+            headers[i] = "Bearer " + tokens[i];
+            jwtUtils.verify(tokens[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtils.verify(tokens[nextToken()]);
+    }
+
+    @Benchmark
+    public int filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", headers[nextToken()]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    private int nextToken() {
+        next = (next + 1) % TOKENS;
+        return next;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.AuditStatsBucketDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
+import com.example.project_tracker.enums.RollupGranularity;
+import com.example.project_tracker.models.AuditLog;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Audit log service for benchmarks: builds each audit entry like the real service and keeps the
+ * last one instead of handing it to a writer. In legacy mode it builds entries the way they were
+ * built before the capture path was reworked, with a fresh {@link HashMap} payload per event.
+ */
+public class BenchmarkAuditLogService implements AuditLogServiceInterface {
+
+    private final boolean legacy;
+    private volatile AuditLog last;
+
+    public BenchmarkAuditLogService(boolean legacy) {
+        this.legacy = legacy;
+    }
+
+    public AuditLog last() {
+        return last;
+    }
+
+    @Override
+    public void logAction(String actionType, String entityType, String entityId, String actorName, Object dataSnapshot) {
+        last = legacy
+                ? legacyBuildLog(actionType, entityType, entityId, actorName, dataSnapshot)
+                : AuditLogService.buildLog(actionType, entityType, entityId, actorName, dataSnapshot);
+    }
+
+    private static AuditLog legacyBuildLog(String actionType, String entityType, String entityId, String actorName,
+                                           Object dataSnapshot) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("snapshot", dataSnapshot);
+
+        AuditLog log = new AuditLog();
+        log.setActionType(actionType);
+        log.setEntityType(entityType);
+        log.setEntityId(entityId);
+        log.setActorName(actorName);
+        log.setEntityTypeKey(entityType != null ? entityType.toLowerCase(Locale.ROOT) : null);
+        log.setActorNameKey(actorName != null ? actorName.toLowerCase(Locale.ROOT) : null);
+        log.setTimestamp(Instant.now());
+        log.setPayload(payload);
+        return log;
+    }
+
+    @Override
+    public void countAction(String actionType, String entityType, String actorName) {
+    }
+
+    @Override
+    public void logSummary(String actionType, String entityType, String actorName, Object summary) {
+    }
+
+    @Override
+    public List<AuditLog> getLogsByEntityType(String entityType, Instant from, Instant to) {
+        return List.of();
+    }
+
+    @Override
+    public List<AuditLog> getLogsByActorName(String actorName, Instant from, Instant to) {
+        return List.of();
+    }
+
+    @Override
+    public CursorPageDTO<AuditLog> getLogsPage(String cursor, int limit) {
+        return new CursorPageDTO<>(List.of(), null);
+    }
+
+    @Override
+    public void streamAllLogs(Consumer<AuditLog> consumer) {
+    }
+
+    @Override
+    public List<AuditStatsBucketDTO> getStats(RollupGranularity granularity, Instant from, Instant to,
+                                              String entityType, String actionType, String actorName,
+                                              Set<String> groupBy) {
+        return List.of();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query latency of {@link TaskSearchIndex} over a generated task table, one million tasks by default.
+ * <p>
+ * Titles and descriptions are drawn from a fixed vocabulary with a skewed distribution, so a few terms
+ * appear in most tasks and most terms in few, as in real text. The queries cover a rare term, a common
+ * term, two terms that must both match, a term filtered by project and a short prefix that expands to
+ * many terms. The time to build the index, the time of one reconcile against the same table and the heap
+ * in use after each are printed once per fork.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=TaskSearchBenchmark
+ * -Dbenchmark.args="-jvmArgs -Xmx2g"}; add {@code -p tasks=2000000} for the target size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int PROJECTS = 1_000;
+
+    @Param("1000000")
+    public int tasks;
+
+    @Param({"rare", "common", "two-terms", "project-filter", "prefix"})
+    public String query;
+
+    private TaskSearchIndex index;
+    private String text;
+    private Long projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.streamAllDtos()).thenAnswer(invocation -> generate(tasks));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        index = new TaskSearchIndex(taskRepository, transactionManager, new SimpleMeterRegistry(), 0);
+        long startNanos = System.nanoTime();
+        index.load();
+        System.out.printf("%nIndexed %d tasks in %d ms, %d MB of heap in use%n", tasks,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), usedHeapMegabytes());
+        startNanos = System.nanoTime();
+        index.reconcile();
+        System.out.printf("Reconciled %d tasks in %d ms, %d MB of heap in use%n", tasks,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), usedHeapMegabytes());
+
+        projectId = null;
+        switch (query) {
+            case "rare" -> text = word(VOCABULARY_SIZE / 2) + " ";
+            case "common" -> text = word(0) + " ";
+            case "two-terms" -> text = word(3) + " " + word(40) + " ";
+            case "project-filter" -> {
+                text = word(2) + " ";
+                projectId = 7L;
+            }
+            case "prefix" -> text = "w1";
+            default -> throw new IllegalArgumentException("Unknown query: " + query);
+        }
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> search() {
+        return index.search(text, projectId, null, 20);
+    }
+
+    private static long usedHeapMegabytes() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+    }
+
+    private static Stream<TaskResponseDTO> generate(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            SplittableRandom random = new SplittableRandom(i);
+            return new TaskResponseDTO((long) i + 1, sentence(random, 3 + random.nextInt(5)),
+                    sentence(random, 5 + random.nextInt(16)), TaskStatus.values()[random.nextInt(3)], null,
+                    (long) random.nextInt(PROJECTS), (long) random.nextInt(PROJECTS * 10));
+        });
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            // Cubing a uniform value makes low-numbered words far more frequent than high-numbered ones.
+            double skew = random.nextDouble();
+            sentence.append(word((int) (skew * skew * skew * VOCABULARY_SIZE)));
+        }
+        return sentence.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + rank;
+    }
+}
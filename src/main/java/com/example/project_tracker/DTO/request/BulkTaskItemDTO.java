@@ -0,0 +1,19 @@
+package com.example.project_tracker.DTO.request;
+
+/**
+ * One entry of a bulk task write: creates a task when {@code id} is absent, updates it otherwise.
+ */
+public class BulkTaskItemDTO extends TaskRequestDTO {
+
+    private Long id;
+
+    public BulkTaskItemDTO() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.project_tracker.DTO.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class RevokeTokenRequestDTO {
+
+    @NotBlank(message = "Token is required")
+    private String token;
+
+    public RevokeTokenRequestDTO() {
+    }
+
+    public RevokeTokenRequestDTO(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+}
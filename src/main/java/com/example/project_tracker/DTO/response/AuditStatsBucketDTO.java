@@ -0,0 +1,65 @@
+package com.example.project_tracker.DTO.response;
+
+import java.time.Instant;
+
+/**
+ * One bar of an audit histogram. Dimensions that were not grouped on are {@code null}.
+ */
+public class AuditStatsBucketDTO {
+
+    private Instant bucketStart;
+    private String entityType;
+    private String actionType;
+    private String actorName;
+    private long count;
+
+    public AuditStatsBucketDTO() {}
+
+    public AuditStatsBucketDTO(Instant bucketStart, String entityType, String actionType, String actorName, long count) {
+        this.bucketStart = bucketStart;
+        this.entityType = entityType;
+        this.actionType = actionType;
+        this.actorName = actorName;
+        this.count = count;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getActionType() {
+        return actionType;
+    }
+
+    public void setActionType(String actionType) {
+        this.actionType = actionType;
+    }
+
+    public String getActorName() {
+        return actorName;
+    }
+
+    public void setActorName(String actorName) {
+        this.actorName = actorName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.project_tracker.DTO.response;
+
+import com.example.project_tracker.enums.BulkItemStatus;
+
+/**
+ * Outcome of one entry of a bulk task write, reported at the entry's position in the request.
+ */
+public class BulkTaskResultDTO implements Identifiable {
+
+    private int index;
+    private Long id;
+    private BulkItemStatus status;
+    private String error;
+
+    public BulkTaskResultDTO() {}
+
+    public BulkTaskResultDTO(int index, Long id, BulkItemStatus status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BulkTaskResultDTO failed(int index, Long id, String error) {
+        return new BulkTaskResultDTO(index, id, BulkItemStatus.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BulkItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkItemStatus status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
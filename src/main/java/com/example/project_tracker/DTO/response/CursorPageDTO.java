@@ -0,0 +1,37 @@
+package com.example.project_tracker.DTO.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * <p>
+ * {@code next} is an opaque continuation token for the following page, or {@code null} on the last page.
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String next;
+
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
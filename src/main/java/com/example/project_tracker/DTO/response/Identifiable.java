@@ -0,0 +1,8 @@
+package com.example.project_tracker.DTO.response;
+
+/**
+ * Implemented by response DTOs that carry a database id, so audit snapshots can reference them by id.
+ */
+public interface Identifiable {
+    Long getId();
+}
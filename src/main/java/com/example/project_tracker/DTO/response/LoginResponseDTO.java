@@ -2,12 +2,22 @@ package com.example.project_tracker.DTO.response;
 
 public class LoginResponseDTO {
     private String token;
+    private String refreshToken;
 
     public LoginResponseDTO(String token) {
         this.token = token;
     }
 
+    public LoginResponseDTO(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
@@ -3,7 +3,7 @@ package com.example.project_tracker.DTO.response;
 import com.example.project_tracker.enums.ProjectStatus;
 import java.time.LocalDate;
 
-public class ProjectResponseDTO {
+public class ProjectResponseDTO implements Identifiable {
 
     private Long id;
     private String name;
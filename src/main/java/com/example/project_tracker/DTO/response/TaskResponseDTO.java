@@ -1,9 +1,10 @@
 package com.example.project_tracker.DTO.response;
 
 import com.example.project_tracker.enums.TaskStatus;
+import java.time.Instant;
 import java.time.LocalDate;
 
-public class TaskResponseDTO {
+public class TaskResponseDTO implements Identifiable {
 
     private Long id;
     private String title;
@@ -12,6 +13,8 @@ public class TaskResponseDTO {
     private LocalDate dueDate;
     private Long projectId;
     private Long userId;
+    private Instant createdAt;
+    private Instant updatedAt;
 
     public TaskResponseDTO() {}
 
@@ -25,6 +28,16 @@ public class TaskResponseDTO {
         this.userId = userId;
     }
 
+    /**
+     * Used by the JPQL constructor projections in {@code TaskRepository}.
+     */
+    public TaskResponseDTO(Long id, String title, String description, TaskStatus status, LocalDate dueDate,
+                           Long projectId, Long userId, Instant createdAt, Instant updatedAt) {
+        this(id, title, description, status, dueDate, projectId, userId);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -82,4 +95,20 @@ public class TaskResponseDTO {
     public void setUserId(Long userId) {
         this.userId = userId;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
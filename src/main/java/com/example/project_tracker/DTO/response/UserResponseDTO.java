@@ -5,7 +5,7 @@ import com.example.project_tracker.models.User;
 
 import java.util.Set;
 
-public class UserResponseDTO {
+public class UserResponseDTO implements Identifiable {
 
     private Long id;
     private String name;
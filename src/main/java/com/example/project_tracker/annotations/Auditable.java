@@ -1,5 +1,8 @@
 package com.example.project_tracker.annotations;
 
+import com.example.project_tracker.enums.AuditPolicy;
+import com.example.project_tracker.enums.AuditSnapshotMode;
+
 import java.lang.annotation.*;
 
 @Target(ElementType.METHOD)
@@ -8,5 +11,9 @@ import java.lang.annotation.*;
 public @interface Auditable {
     String actionType();
     String entityType();
+    AuditSnapshotMode snapshot() default AuditSnapshotMode.AUTO;
+    // Default policy for GET actions; can be overridden with audit.policy.<entityType>.<actionType>
+    AuditPolicy policy() default AuditPolicy.ALWAYS;
+    // Used with SAMPLED; can be overridden with audit.sample-rate.<entityType>.<actionType>
+    double sampleRate() default 1.0;
 }
-
@@ -1,72 +1,123 @@
 package com.example.project_tracker.aspects;
 
 import com.example.project_tracker.annotations.Auditable;
-import com.example.project_tracker.service.AuditLogService;
+import com.example.project_tracker.enums.AuditSnapshotMode;
+import com.example.project_tracker.service.AuditAggregator;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import com.example.project_tracker.service.AuditPolicyService;
 import lombok.RequiredArgsConstructor;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.bson.types.ObjectId;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Aspect for logging actions annotated with @Auditable after successful execution.
+ * <p>
+ * Reads go through {@link AuditPolicyService} first and may be sampled out, aggregated or skipped.
+ * The stored snapshot depends on the annotation's {@link AuditSnapshotMode}; see {@link AuditSnapshotFactory}.
+ * <p>
+ * The annotation, snapshot mode and entity ID parameter are looked up once per method and cached,
+ * so an advised call does no reflection.
  */
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class AuditAspect {
 
-    private final AuditLogService auditLogService;
+    private final AuditLogServiceInterface auditLogService;
+    private final AuditSnapshotFactory auditSnapshotFactory;
+    private final AuditPolicyService auditPolicyService;
+    private final AuditAggregator auditAggregator;
+    private final Map<Method, MethodMetadata> metadataCache = new ConcurrentHashMap<>();
 
     /**
-     * Logs audit information after a method annotated with @Auditable completes.
+     * Runs a method annotated with @Auditable and logs audit information once it completes.
+     * Nothing is logged if the method throws.
      *
      * @param joinPoint the intercepted method
-     * @param result    the returned object from the method
+     * @return the returned object from the method
+     * @throws Throwable if the original method throws
      */
-    @AfterReturning(pointcut = "@annotation(com.example.project_tracker.annotations.Auditable)", returning = "result")
-    public void logAudit(JoinPoint joinPoint, Object result) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Auditable auditable = methodSignature.getMethod().getAnnotation(Auditable.class);
+    @Around("@annotation(com.example.project_tracker.annotations.Auditable)")
+    public Object logAudit(ProceedingJoinPoint joinPoint) throws Throwable {
+        AuditContext.Frame previous = AuditContext.enter();
+        try {
+            Object result = joinPoint.proceed();
+
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            MethodMetadata metadata = metadataCache.computeIfAbsent(method, MethodMetadata::of);
+            Auditable auditable = metadata.auditable();
 
-        String actionType = auditable.actionType();
-        String entityType = auditable.entityType();
-        String entityId = extractEntityIdFromArgs(joinPoint.getArgs());
-        String actorName = getCurrentUser();
+            AuditPolicyService.Decision decision = auditPolicyService.decide(auditable);
+            String actorName = getCurrentUser();
+            if (decision != AuditPolicyService.Decision.RECORD) {
+                auditLogService.countAction(auditable.actionType(), auditable.entityType(), actorName);
+                if (decision == AuditPolicyService.Decision.AGGREGATE) {
+                    auditAggregator.increment(auditable.actionType(), auditable.entityType(), actorName);
+                }
+                return result;
+            }
 
-        auditLogService.logAction(
-                actionType,
-                entityType,
-                entityId,
-                actorName,
-                result
-        );
+            Object snapshot = auditSnapshotFactory.snapshot(metadata.snapshotMode(), AuditContext.before(), result);
+            auditLogService.logAction(
+                    auditable.actionType(),
+                    auditable.entityType(),
+                    metadata.entityId(joinPoint.getArgs()),
+                    actorName,
+                    snapshot
+            );
+            return result;
+        } finally {
+            AuditContext.exit(previous);
+        }
     }
 
     /**
-     * Extracts entity ID from method arguments if present, else generates a UUID.
+     * Retrieves the current authenticated user's name or returns 'SYSTEM'.
      */
-    private String extractEntityIdFromArgs(Object[] args) {
-        for (Object arg : args) {
-            if (arg instanceof Long) {
-                return arg.toString();
-            }
-        }
-        return UUID.randomUUID().toString();
+    private static String getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "SYSTEM";
     }
 
     /**
-     * Retrieves the current authenticated user's name or returns 'SYSTEM'.
+     * What the aspect needs to know about an audited method, resolved once per method.
+     *
+     * @param entityIdIndex position of the first {@code Long} parameter, or -1 if there is none
      */
-    private String getCurrentUser() {
-        try {
-            return SecurityContextHolder.getContext().getAuthentication().getName();
-        } catch (Exception e) {
-            return "SYSTEM";
+    private record MethodMetadata(Auditable auditable, AuditSnapshotMode snapshotMode, int entityIdIndex) {
+
+        static MethodMetadata of(Method method) {
+            Auditable auditable = method.getAnnotation(Auditable.class);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            int entityIdIndex = -1;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (parameterTypes[i] == Long.class || parameterTypes[i] == long.class) {
+                    entityIdIndex = i;
+                    break;
+                }
+            }
+            return new MethodMetadata(auditable,
+                    AuditSnapshotFactory.resolve(auditable.snapshot(), auditable.actionType()), entityIdIndex);
+        }
+
+        /**
+         * Returns the entity ID argument, or a fresh ObjectId when the method takes none.
+         */
+        String entityId(Object[] args) {
+            if (entityIdIndex >= 0 && args[entityIdIndex] != null) {
+                return args[entityIdIndex].toString();
+            }
+            return new ObjectId().toHexString();
         }
     }
 }
@@ -0,0 +1,50 @@
+package com.example.project_tracker.aspects;
+
+/**
+ * Per-thread holder for state that an audited method wants recorded alongside its result.
+ * <p>
+ * Update methods call {@link #recordBefore(Object)} with the entity state before they modify it,
+ * so {@link AuditAspect} can store a field-level diff instead of the whole result.
+ * The aspect owns the lifecycle; outside an audited call, recording is a no-op.
+ */
+public final class AuditContext {
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    private AuditContext() {}
+
+    /**
+     * Records the state of the entity before the audited method changes it.
+     *
+     * @param before a DTO of the entity as it was loaded
+     */
+    public static void recordBefore(Object before) {
+        Frame frame = CURRENT.get();
+        if (frame != null) {
+            frame.before = before;
+        }
+    }
+
+    static Frame enter() {
+        Frame previous = CURRENT.get();
+        CURRENT.set(new Frame());
+        return previous;
+    }
+
+    static Object before() {
+        Frame frame = CURRENT.get();
+        return frame != null ? frame.before : null;
+    }
+
+    static void exit(Frame previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static final class Frame {
+        private Object before;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.project_tracker.aspects;
+
+import com.example.project_tracker.DTO.response.CursorPageDTO;
+import com.example.project_tracker.DTO.response.Identifiable;
+import com.example.project_tracker.enums.AuditSnapshotMode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builds the compact snapshot stored in an audit log payload.
+ * <p>
+ * Reads are recorded as ids and counts, updates as a field-level diff and creates as the
+ * created entity, so large list results are never copied into MongoDB.
+ */
+@Component
+public class AuditSnapshotFactory {
+
+    private static final TypeReference<Map<String, Object>> FIELD_MAP = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final int maxIds;
+
+    public AuditSnapshotFactory(ObjectMapper objectMapper,
+                                @Value("${audit.snapshot.max-ids:100}") int maxIds) {
+        this.objectMapper = objectMapper;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Resolves {@link AuditSnapshotMode#AUTO} to the concrete mode for an action type.
+     */
+    public static AuditSnapshotMode resolve(AuditSnapshotMode mode, String actionType) {
+        if (mode != AuditSnapshotMode.AUTO) {
+            return mode;
+        }
+        return switch (actionType) {
+            case "CREATE" -> AuditSnapshotMode.FULL;
+            case "UPDATE" -> AuditSnapshotMode.DIFF;
+            default -> AuditSnapshotMode.REFERENCE;
+        };
+    }
+
+    /**
+     * Creates the snapshot for an audited call.
+     *
+     * @param mode   the resolved snapshot mode
+     * @param before the state recorded before the call, or {@code null}
+     * @param result the value returned by the audited method
+     * @return the object to store as the payload snapshot, or {@code null} for none
+     */
+    public Object snapshot(AuditSnapshotMode mode, Object before, Object result) {
+        if (result == null) {
+            return null;
+        }
+        return switch (mode) {
+            case FULL, AUTO -> result;
+            case DIFF -> before != null ? diff(before, result) : result;
+            case REFERENCE -> reference(result);
+            case NONE -> null;
+        };
+    }
+
+    private Map<String, Object> diff(Object before, Object after) {
+        Map<String, Object> oldFields = objectMapper.convertValue(before, FIELD_MAP);
+        Map<String, Object> newFields = objectMapper.convertValue(after, FIELD_MAP);
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : newFields.entrySet()) {
+            Object oldValue = oldFields.get(entry.getKey());
+            if (!Objects.equals(oldValue, entry.getValue())) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("from", oldValue);
+                change.put("to", entry.getValue());
+                changes.put(entry.getKey(), change);
+            }
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        if (after instanceof Identifiable identifiable) {
+            snapshot.put("id", identifiable.getId());
+        }
+        snapshot.put("changes", changes);
+        return snapshot;
+    }
+
+    private Map<String, Object> reference(Object result) {
+        if (result instanceof CursorPageDTO<?> page) {
+            Map<String, Object> snapshot = reference(page.getItems());
+            snapshot.put("hasNext", page.getNext() != null);
+            return snapshot;
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        if (result instanceof Collection<?> items) {
+            List<Long> ids = new ArrayList<>(Math.min(items.size(), maxIds));
+            for (Object item : items) {
+                if (ids.size() == maxIds) {
+                    break;
+                }
+                if (item instanceof Identifiable identifiable) {
+                    ids.add(identifiable.getId());
+                }
+            }
+            snapshot.put("count", items.size());
+            snapshot.put("ids", ids);
+            if (ids.size() == maxIds && items.size() > maxIds) {
+                snapshot.put("truncated", true);
+            }
+        } else if (result instanceof Identifiable identifiable) {
+            snapshot.put("id", identifiable.getId());
+        } else {
+            snapshot.put("type", result.getClass().getSimpleName());
+        }
+        return snapshot;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.project_tracker.aspects;
 
 import com.example.project_tracker.DTO.request.LoginRequestDTO;
-import com.example.project_tracker.service.AuditLogService;
+import com.example.project_tracker.exceptions.TooManyLoginAttemptsException;
+import com.example.project_tracker.service.AuditAggregator;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -11,14 +13,22 @@ import org.springframework.stereotype.Component;
 
 /**
  * Aspect for auditing login attempts using the @LoginAudit annotation.
- * Logs both successful and failed login events to the audit trail.
+ * <p>
+ * Successful logins are logged individually. Failed and throttled attempts are only counted
+ * and coalesced by the {@link AuditAggregator} into periodic summary logs per outcome, so a burst
+ * of bad logins does not write one audit document per attempt. The counts are not split by the
+ * submitted email: it is chosen by the caller, and one counter per address tried would let a
+ * credential-stuffing run grow the counters without bound.
  */
 @Aspect
 @Component
 public class LoginAuditAspect {
 
     @Autowired
-    private AuditLogService auditLogService;
+    private AuditLogServiceInterface auditLogService;
+
+    @Autowired
+    private AuditAggregator auditAggregator;
 
     /**
      * Intercepts methods annotated with @LoginAudit and logs login outcomes.
@@ -52,15 +62,16 @@ public class LoginAuditAspect {
             );
             return result;
         } catch (BadCredentialsException ex) {
-            // Log failed login attempt
-            auditLogService.logAction(
-                    "LOGIN_FAILED",
-                    "User",
-                    null,
-                    loginRequest != null ? loginRequest.getEmail() : null,
-                    "Invalid login credentials"
-            );
+            countFailure("LOGIN_FAILED");
+            throw ex;
+        } catch (TooManyLoginAttemptsException ex) {
+            countFailure("LOGIN_THROTTLED");
             throw ex;
         }
     }
+
+    private void countFailure(String actionType) {
+        auditLogService.countAction(actionType, "User", null);
+        auditAggregator.increment(actionType, "User", null);
+    }
 }
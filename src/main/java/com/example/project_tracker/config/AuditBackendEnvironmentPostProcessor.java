@@ -0,0 +1,45 @@
+package com.example.project_tracker.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns MongoDB off entirely when {@code audit.backend=local}.
+ * <p>
+ * Audit logs and rollups are the only MongoDB data, so with the local segment backend the
+ * MongoDB client, templates, repositories, health check and metrics are excluded from
+ * auto-configuration. A node then starts without {@code MONGODB_URI} and never connects to MongoDB.
+ */
+public class AuditBackendEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final List<String> MONGO_AUTO_CONFIGURATIONS = List.of(
+            "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration",
+            "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.data.mongo.MongoHealthContributorAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.data.mongo.MongoReactiveHealthContributorAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.metrics.mongo.MongoMetricsAutoConfiguration"
+    );
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"local".equals(environment.getProperty("audit.backend"))) {
+            return;
+        }
+        String excluded = environment.getProperty("spring.autoconfigure.exclude", "");
+        String mongo = String.join(",", MONGO_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(new MapPropertySource("localAuditBackend", Map.of(
+                "spring.autoconfigure.exclude", StringUtils.hasText(excluded) ? excluded + "," + mongo : mongo,
+                "spring.data.mongodb.auto-index-creation", "false"
+        )));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.project_tracker.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the task ID sequence past the IDs already in use.
+ * <p>
+ * Tasks used to get AUTO_INCREMENT ids. They now come from the pooled {@code task_seq} sequence,
+ * which MySQL emulates with a one-row table, so an existing database would otherwise hand out
+ * IDs that are already taken. Runs once the schema has been updated and before the first insert.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskIdSequenceInitializer {
+
+    // Must match allocationSize on Task's @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM task", Long.class);
+        // Clears a whole allocation block, whichever end of the block the optimizer treats the value as
+        long floor = (maxId != null ? maxId : 0) + ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("UPDATE task_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+        if (updated > 0) {
+            log.info("Moved task_seq to {} past existing task ids", floor);
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package com.example.project_tracker.controllers;
 
+import com.example.project_tracker.DTO.response.AuditStatsBucketDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
+import com.example.project_tracker.enums.RollupGranularity;
 import com.example.project_tracker.models.AuditLog;
-import com.example.project_tracker.service.AuditLogService;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.example.project_tracker.utils.SucessResponseUtil.sucessResponseUtil;
 
@@ -18,30 +33,83 @@ import static com.example.project_tracker.utils.SucessResponseUtil.sucessRespons
 @RequestMapping("/api/logs")
 public class AuditLogController {
 
-    private final AuditLogService auditLogService;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
-    public AuditLogController(AuditLogService auditLogService) {
+    private final AuditLogServiceInterface auditLogService;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogController(AuditLogServiceInterface auditLogService, ObjectMapper objectMapper) {
         this.auditLogService = auditLogService;
+        this.objectMapper = objectMapper;
     }
 
-    /** Retrieves all audit logs. */
+    /** Retrieves one page of audit logs, newest first; pass the returned {@code next} token as {@code cursor}. */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllLogs() {
-        List<AuditLog> logs = auditLogService.getAllLogs();
-        return sucessResponseUtil(HttpStatus.OK, logs);
+    public ResponseEntity<Map<String, Object>> getAllLogs(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        CursorPageDTO<AuditLog> page = auditLogService.getLogsPage(cursor, limit);
+        return sucessResponseUtil(HttpStatus.OK, page);
+    }
+
+    /**
+     * Streams every audit log as newline-delimited JSON, one document per line.
+     * <p>
+     * The logs are written on the request thread straight to the response, so a long export is not
+     * cut off by the async request timeout that applies to {@code StreamingResponseBody}.
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    public void exportLogs(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON.toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writer();
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        auditLogService.streamAllLogs(log -> {
+            try {
+                out.write(writer.writeValueAsBytes(log));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    /**
+     * Returns a histogram of audit events from the pre-aggregated rollups.
+     * {@code groupBy} is a comma-separated subset of entityType, actionType and actorName.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) String actorName,
+            @RequestParam(required = false) Set<String> groupBy) {
+        List<AuditStatsBucketDTO> stats = auditLogService.getStats(
+                granularity, from, to, entityType, actionType, actorName, groupBy);
+        return sucessResponseUtil(HttpStatus.OK, stats);
     }
 
-    /** Retrieves logs filtered by entity type. */
+    /** Retrieves logs filtered by entity type, optionally within [from, to). */
     @GetMapping("/entity/{entityType}")
-    public ResponseEntity<Map<String, Object>> getLogsByEntityType(@PathVariable String entityType) {
-        List<AuditLog> logs = auditLogService.getLogsByEntityType(entityType);
+    public ResponseEntity<Map<String, Object>> getLogsByEntityType(
+            @PathVariable String entityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        List<AuditLog> logs = auditLogService.getLogsByEntityType(entityType, from, to);
         return sucessResponseUtil(HttpStatus.OK, logs);
     }
 
-    /** Retrieves logs filtered by actor name. */
+    /** Retrieves logs filtered by actor name, optionally within [from, to). */
     @GetMapping("/actor/{actorName}")
-    public ResponseEntity<Map<String, Object>> getLogsByActorName(@PathVariable String actorName) {
-        List<AuditLog> logs = auditLogService.getLogsByActorName(actorName);
+    public ResponseEntity<Map<String, Object>> getLogsByActorName(
+            @PathVariable String actorName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        List<AuditLog> logs = auditLogService.getLogsByActorName(actorName, from, to);
         return sucessResponseUtil(HttpStatus.OK, logs);
     }
 }
@@ -1,14 +1,18 @@
 package com.example.project_tracker.controllers;
 
 import com.example.project_tracker.DTO.request.LoginRequestDTO;
+import com.example.project_tracker.DTO.request.RefreshTokenRequestDTO;
+import com.example.project_tracker.DTO.request.RevokeTokenRequestDTO;
 import com.example.project_tracker.DTO.request.UserRequestDTO;
 import com.example.project_tracker.DTO.response.LoginResponseDTO;
 import com.example.project_tracker.aspects.LoginAudit;
-import com.example.project_tracker.service.AuditLogService;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
 import com.example.project_tracker.service.AuthService;
 import com.example.project_tracker.service.UserService;
 import com.example.project_tracker.utils.SucessResponseUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,11 +24,13 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
     private final UserService userService;
-    private final AuditLogService auditLogService;
+    private final AuditLogServiceInterface auditLogService;
 
-    public AuthController(AuthService authService, UserService userService, AuditLogService auditLogService) {
+    public AuthController(AuthService authService, UserService userService, AuditLogServiceInterface auditLogService) {
         this.authService = authService;
         this.userService = userService;
         this.auditLogService = auditLogService;
@@ -32,8 +38,15 @@ public class AuthController {
 
     /** Authenticates user and returns a JWT token. */
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody LoginRequestDTO requestDTO) {
-        LoginResponseDTO responseDTO = authService.login(requestDTO);
+    public ResponseEntity<?> loginUser(@RequestBody LoginRequestDTO requestDTO, HttpServletRequest request) {
+        LoginResponseDTO responseDTO = authService.login(requestDTO, request.getRemoteAddr());
+        return SucessResponseUtil.sucessResponseUtil(HttpStatus.OK, responseDTO);
+    }
+
+    /** Exchanges a refresh token for new access and refresh tokens. */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO requestDTO) {
+        LoginResponseDTO responseDTO = authService.refresh(requestDTO);
         return SucessResponseUtil.sucessResponseUtil(HttpStatus.OK, responseDTO);
     }
 
@@ -43,4 +56,27 @@ public class AuthController {
         userService.registerUser(requestDTO);
         return SucessResponseUtil.sucessResponseUtil(HttpStatus.OK, "User registered successfully");
     }
+
+    /**
+     * Revokes the caller's token so it can no longer be used.
+     * Responds 400 if the request does not carry a Bearer access token, e.g. for a session login.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody(required = false) RefreshTokenRequestDTO requestDTO) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)
+                || authorization.length() == BEARER_PREFIX.length()) {
+            throw new IllegalArgumentException("Logout requires a Bearer access token");
+        }
+        authService.logout(authorization.substring(BEARER_PREFIX.length()),
+                requestDTO != null ? requestDTO.getRefreshToken() : null);
+        return SucessResponseUtil.sucessResponseUtil(HttpStatus.OK, "Logged out successfully");
+    }
+
+    /** Revokes any user's token. Admin only. */
+    @PostMapping("/revoke")
+    public ResponseEntity<?> revokeToken(@Valid @RequestBody RevokeTokenRequestDTO requestDTO) {
+        authService.revokeToken(requestDTO.getToken());
+        return SucessResponseUtil.sucessResponseUtil(HttpStatus.OK, "Token revoked successfully");
+    }
 }
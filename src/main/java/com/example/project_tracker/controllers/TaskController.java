@@ -1,16 +1,33 @@
 package com.example.project_tracker.controllers;
 
+import com.example.project_tracker.DTO.request.BulkTaskItemDTO;
 import com.example.project_tracker.DTO.request.TaskRequestDTO;
+import com.example.project_tracker.DTO.response.BulkTaskResultDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
 import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.service.TaskBulkService;
 import com.example.project_tracker.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import static com.example.project_tracker.utils.SucessResponseUtil.sucessResponseUtil;
@@ -22,10 +39,18 @@ import static com.example.project_tracker.utils.SucessResponseUtil.sucessRespons
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final String CSV_HEADER = "id,title,description,status,dueDate,projectId,userId,createdAt,updatedAt\n";
+
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final ObjectMapper objectMapper;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBulkService taskBulkService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskBulkService = taskBulkService;
+        this.objectMapper = objectMapper;
     }
 
     /** Creates a new task. */
@@ -35,10 +60,82 @@ public class TaskController {
         return sucessResponseUtil(HttpStatus.CREATED, response);
     }
 
-    /** Retrieves all tasks sorted by a given field. */
+    /**
+     * Creates the tasks without an ID and updates the ones with an ID in a single request.
+     * Returns one result per item; invalid items are reported without failing the others.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> bulkWriteTasks(@RequestBody List<BulkTaskItemDTO> requestDTOs) {
+        List<BulkTaskResultDTO> response = taskBulkService.writeTasks(requestDTOs);
+        return sucessResponseUtil(HttpStatus.OK, response);
+    }
+
+    /**
+     * Retrieves one page of tasks sorted by the given fields, e.g. {@code sortBy=dueDate,status};
+     * pass the returned {@code next} token as {@code cursor} with the same sort to get the following page.
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllTasks(@RequestParam(defaultValue = "dueDate") String sortBy) {
-        List<TaskResponseDTO> response = taskService.getAllTasks(sortBy);
+    public ResponseEntity<Map<String, Object>> getAllTasks(@RequestParam(defaultValue = "dueDate,status") String sortBy,
+                                                           @RequestParam(defaultValue = "ASC") String direction,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<TaskResponseDTO> response = taskService.getAllTasks(sortBy, direction, cursor, limit);
+        return sucessResponseUtil(HttpStatus.OK, response);
+    }
+
+    /**
+     * Streams the tasks matching the optional filters as CSV or newline-delimited JSON.
+     * Rows are written as they are read, so the export size is not limited by memory.
+     * <p>
+     * The rows are written on the request thread straight to the response, so a long export is not
+     * cut off by the async request timeout that applies to {@code StreamingResponseBody}.
+     */
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(required = false) Long projectId,
+                            @RequestParam(required = false) Long userId,
+                            @RequestParam(required = false) TaskStatus status,
+                            HttpServletResponse response) throws IOException {
+        boolean csv = switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new IllegalArgumentException("Invalid export format: " + format);
+        };
+
+        response.setContentType((csv ? CSV : NDJSON).toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + (csv ? "csv" : "ndjson") + "\"");
+
+        ObjectWriter writer = objectMapper.writer();
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (csv) {
+            out.write(CSV_HEADER);
+        }
+        taskService.exportTasks(projectId, userId, status, task -> {
+            try {
+                if (csv) {
+                    writeCsvRow(out, task);
+                } else {
+                    out.write(writer.writeValueAsString(task));
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    /**
+     * Searches task titles and descriptions, best match first. The last word of {@code q} also matches
+     * as a prefix; the optional filters narrow the results to one project or status.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchTasks(@RequestParam String q,
+                                                           @RequestParam(required = false) Long projectId,
+                                                           @RequestParam(required = false) TaskStatus status,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        List<TaskResponseDTO> response = taskService.searchTasks(q, projectId, status, limit);
         return sucessResponseUtil(HttpStatus.OK, response);
     }
 
@@ -78,5 +175,48 @@ public class TaskController {
         return sucessResponseUtil(HttpStatus.OK, response);
     }
 
+    /** Retrieves the number of tasks in each status across all projects. */
+    @GetMapping("/counts")
+    public ResponseEntity<Map<String, Object>> getTaskCounts() {
+        Map<TaskStatus, Long> response = taskService.getTaskCountsByStatus();
+        return sucessResponseUtil(HttpStatus.OK, response);
+    }
+
+    /** Retrieves the number of tasks in each status for a project. */
+    @GetMapping("/counts/by-project/{projectId}")
+    public ResponseEntity<Map<String, Object>> getTaskCountsByProject(@PathVariable Long projectId) {
+        Map<TaskStatus, Long> response = taskService.getTaskCountsByProject(projectId);
+        return sucessResponseUtil(HttpStatus.OK, response);
+    }
+
+    /** Retrieves the number of tasks in each status assigned to a developer. */
+    @GetMapping("/counts/by-user/{userId}")
+    public ResponseEntity<Map<String, Object>> getTaskCountsByUser(@PathVariable Long userId) {
+        Map<TaskStatus, Long> response = taskService.getTaskCountsByUser(userId);
+        return sucessResponseUtil(HttpStatus.OK, response);
+    }
 
+    private static void writeCsvRow(Writer out, TaskResponseDTO task) throws IOException {
+        Object[] values = {task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getDueDate(),
+                task.getProjectId(), task.getUserId(), task.getCreatedAt(), task.getUpdatedAt()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(csvField(values[i].toString()));
+            }
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, quote or line break, doubling any quotes.
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.project_tracker.enums;
+
+/**
+ * What the audit writer does when its in-memory queue is full.
+ */
+public enum AuditOverflowPolicy {
+    /** Block the calling thread until the writer frees up space. */
+    BLOCK,
+    /** Drop incoming GET events and evict queued GET events to make room for mutations. */
+    DROP_READS,
+    /** Append the event to the local spool file and replay it once the queue drains. */
+    SPILL
+}
@@ -0,0 +1,17 @@
+package com.example.project_tracker.enums;
+
+/**
+ * Whether and how an audited call produces an audit log document.
+ * <p>
+ * Only read actions honour this; mutations are always recorded.
+ */
+public enum AuditPolicy {
+    /** Record every call. */
+    ALWAYS,
+    /** Record a random sample of calls at the configured rate. */
+    SAMPLED,
+    /** Count calls in memory and periodically record one summary document per entity, action and actor. */
+    AGGREGATED,
+    /** Record nothing. */
+    OFF
+}
@@ -0,0 +1,17 @@
+package com.example.project_tracker.enums;
+
+/**
+ * How much of an audited method's state is copied into the audit log payload.
+ */
+public enum AuditSnapshotMode {
+    /** Pick a mode from the action type: DIFF for UPDATE, FULL for CREATE, REFERENCE otherwise. */
+    AUTO,
+    /** Store the returned object as-is. */
+    FULL,
+    /** Store only the fields that changed between the recorded before state and the returned object. */
+    DIFF,
+    /** Store only ids and a count of the returned object(s). */
+    REFERENCE,
+    /** Store no snapshot at all. */
+    NONE
+}
@@ -0,0 +1,7 @@
+package com.example.project_tracker.enums;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    FAILED
+}
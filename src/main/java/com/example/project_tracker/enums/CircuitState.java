@@ -0,0 +1,13 @@
+package com.example.project_tracker.enums;
+
+/**
+ * State of a circuit breaker guarding calls to an external dependency.
+ */
+public enum CircuitState {
+    /** Calls go through; failures are being counted. */
+    CLOSED,
+    /** A single trial call is allowed to find out whether the dependency has recovered. */
+    HALF_OPEN,
+    /** Calls are short-circuited until the open period ends. */
+    OPEN
+}
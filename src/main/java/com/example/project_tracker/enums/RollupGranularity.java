@@ -0,0 +1,25 @@
+package com.example.project_tracker.enums;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of pre-aggregated audit rollups.
+ */
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the start of the bucket that contains the given instant.
+     */
+    public Instant bucketStart(Instant timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+}
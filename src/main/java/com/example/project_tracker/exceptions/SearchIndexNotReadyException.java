@@ -0,0 +1,15 @@
+package com.example.project_tracker.exceptions;
+
+public class SearchIndexNotReadyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SearchIndexNotReadyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
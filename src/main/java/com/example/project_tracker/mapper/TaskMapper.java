@@ -28,6 +28,8 @@ public class TaskMapper {
         dto.setDescription(task.getDescription());
         dto.setStatus(task.getStatus());
         dto.setDueDate(task.getDueDate());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
 
         if (task.getUser() != null) {
             dto.setUserId(task.getUser().getId());
@@ -1,6 +1,8 @@
 package com.example.project_tracker.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -8,6 +10,11 @@ import java.time.Instant;
 import java.util.Map;
 
 @Document(collection = "audit_logs")
+@CompoundIndexes({
+        @CompoundIndex(name = "timestamp_id", def = "{ 'timestamp': -1, '_id': -1 }"),
+        @CompoundIndex(name = "entity_type_timestamp", def = "{ 'entityTypeKey': 1, 'timestamp': -1 }"),
+        @CompoundIndex(name = "actor_name_timestamp", def = "{ 'actorNameKey': 1, 'timestamp': -1 }")
+})
 public class AuditLog {
 
     @Id
@@ -18,6 +25,10 @@ public class AuditLog {
     private Instant timestamp;
     private String actorName;
 
+    // Lower-cased copies of entityType and actorName so case-insensitive lookups can use an index
+    private String entityTypeKey;
+    private String actorNameKey;
+
     @Field("payload")
     private Map<String, Object> payload;
 
@@ -81,6 +92,22 @@ public class AuditLog {
         this.actorName = actorName;
     }
 
+    public String getEntityTypeKey() {
+        return entityTypeKey;
+    }
+
+    public void setEntityTypeKey(String entityTypeKey) {
+        this.entityTypeKey = entityTypeKey;
+    }
+
+    public String getActorNameKey() {
+        return actorNameKey;
+    }
+
+    public void setActorNameKey(String actorNameKey) {
+        this.actorNameKey = actorNameKey;
+    }
+
     public Map<String, Object> getPayload() {
         return payload;
     }
@@ -0,0 +1,99 @@
+package com.example.project_tracker.models;
+
+import com.example.project_tracker.enums.RollupGranularity;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Count of audit events for one (entityType, actionType, actorName) in one time bucket.
+ * <p>
+ * Documents are created and incremented with {@code $inc} upserts; they are never rewritten.
+ */
+@Document(collection = "audit_rollups")
+@CompoundIndex(name = "bucket_key", unique = true,
+        def = "{ 'granularity': 1, 'bucketStart': 1, 'entityType': 1, 'actionType': 1, 'actorName': 1 }")
+public class AuditRollup {
+
+    @Id
+    private String id;
+    private RollupGranularity granularity;
+    private Instant bucketStart;
+    private String entityType;
+    private String actionType;
+    private String actorName;
+    private long count;
+
+    // Only set on minute buckets, which MongoDB removes once this time has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expireAt;
+
+    public AuditRollup() {}
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public RollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(RollupGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getActionType() {
+        return actionType;
+    }
+
+    public void setActionType(String actionType) {
+        this.actionType = actionType;
+    }
+
+    public String getActorName() {
+        return actorName;
+    }
+
+    public void setActorName(String actorName) {
+        this.actorName = actorName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Instant getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Instant expireAt) {
+        this.expireAt = expireAt;
+    }
+}
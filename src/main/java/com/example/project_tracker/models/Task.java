@@ -4,14 +4,29 @@ import com.example.project_tracker.enums.TaskStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
+/**
+ * A unit of work within a project, optionally assigned to a user.
+ * <p>
+ * The composite indexes back the keyset-paginated task listing, one per supported sort order.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_due_date_status_id", columnList = "due_date, status, id"),
+        @Index(name = "idx_task_status_due_date_id", columnList = "status, due_date, id"),
+        @Index(name = "idx_task_created_at_id", columnList = "created_at, id")
+})
 public class Task {
 
+    // Pooled sequence rather than IDENTITY, so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -33,6 +48,14 @@ public class Task {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public Task() {}
 
     public Task(Long id, String title, String description, TaskStatus status, LocalDate dueDate, Project project, User user) {
@@ -103,6 +126,22 @@ public class Task {
         this.user = user;
     }
 
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public static class Builder {
         private String title;
         private String description;
@@ -25,6 +25,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Roles roles;
 
+    // Bumped to invalidate this user's stateless tokens
+    @Column(name = "token_epoch")
+    private Long tokenEpoch;
+
 
     public User() {}
 
@@ -86,6 +90,14 @@ public class User {
         this.roles = roles;
     }
 
+    public long getTokenEpoch() {
+        return tokenEpoch != null ? tokenEpoch : 0L;
+    }
+
+    public void setTokenEpoch(Long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
     public static class Builder {
         private String name;
         private String email;
@@ -2,9 +2,18 @@ package com.example.project_tracker.repository;
 
 import com.example.project_tracker.models.AuditLog;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 public interface AuditLogRepository extends MongoRepository<AuditLog, String> {
 
-}
\ No newline at end of file
+    @Query(value = "{ 'entityTypeKey': ?0, 'timestamp': { $gte: ?1, $lt: ?2 } }", sort = "{ 'timestamp': -1 }")
+    List<AuditLog> findByEntityTypeKeyInRange(String entityTypeKey, Instant from, Instant to);
+
+    @Query(value = "{ 'actorNameKey': ?0, 'timestamp': { $gte: ?1, $lt: ?2 } }", sort = "{ 'timestamp': -1 }")
+    List<AuditLog> findByActorNameKeyInRange(String actorNameKey, Instant from, Instant to);
+}
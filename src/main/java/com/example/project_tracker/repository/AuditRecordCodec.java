@@ -0,0 +1,182 @@
+package com.example.project_tracker.repository;
+
+import com.example.project_tracker.models.AuditLog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary encoding of {@link AuditLog} records in local segment files.
+ * <p>
+ * Each record is framed as {@code [int length][int crc32c][body][int length]}. The trailing
+ * length lets readers walk a segment backwards, and the checksum lets recovery detect a torn
+ * final write. The body starts with the timestamp and the short string fields, followed by
+ * the payload as JSON, so filters can be applied without parsing the payload. The lower-cased
+ * lookup keys are not stored; they are derived again when a record is read.
+ */
+final class AuditRecordCodec {
+
+    static final int FRAME_OVERHEAD = 12;
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+    private static final short NULL_STRING = -1;
+
+    private final ObjectMapper objectMapper;
+
+    AuditRecordCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Encodes one record, including its frame.
+     */
+    byte[] encode(AuditLog log) {
+        byte[][] strings = {
+                utf8(log.getId()), utf8(log.getActionType()), utf8(log.getEntityType()),
+                utf8(log.getEntityId()), utf8(log.getActorName())
+        };
+        byte[] payload = log.getPayload() != null ? json(log.getPayload()) : null;
+
+        int bodyLength = Long.BYTES + Integer.BYTES + Integer.BYTES + (payload != null ? payload.length : 0);
+        for (byte[] value : strings) {
+            bodyLength += Short.BYTES + (value != null ? value.length : 0);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(bodyLength + FRAME_OVERHEAD);
+        buffer.putInt(bodyLength);
+        buffer.putInt(0);
+        buffer.putLong(log.getTimestamp().getEpochSecond());
+        buffer.putInt(log.getTimestamp().getNano());
+        for (byte[] value : strings) {
+            if (value == null) {
+                buffer.putShort(NULL_STRING);
+            } else {
+                buffer.putShort((short) value.length);
+                buffer.put(value);
+            }
+        }
+        if (payload == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(payload.length);
+            buffer.put(payload);
+        }
+        buffer.putInt(bodyLength);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 8, bodyLength);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Returns the end position of a well-formed record starting at {@code position},
+     * or {@code -1} if the bytes there are truncated or fail the checksum.
+     */
+    static long validate(ByteBuffer segment, int position, int limit) {
+        if (position + FRAME_OVERHEAD > limit) {
+            return -1;
+        }
+        int bodyLength = segment.getInt(position);
+        if (bodyLength <= 0 || position + bodyLength + FRAME_OVERHEAD > limit) {
+            return -1;
+        }
+        if (segment.getInt(position + 8 + bodyLength) != bodyLength) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        ByteBuffer body = segment.duplicate();
+        body.limit(position + 8 + bodyLength).position(position + 8);
+        crc.update(body);
+        if ((int) crc.getValue() != segment.getInt(position + 4)) {
+            return -1;
+        }
+        return position + bodyLength + FRAME_OVERHEAD;
+    }
+
+    /**
+     * Reads the timestamp of the record starting at {@code position}.
+     */
+    static Instant timestamp(ByteBuffer segment, int position) {
+        return Instant.ofEpochSecond(segment.getLong(position + 8), segment.getInt(position + 16));
+    }
+
+    /**
+     * Decodes everything except the payload of the record starting at {@code position}.
+     */
+    Header decodeHeader(ByteBuffer segment, int position) {
+        ByteBuffer body = segment.duplicate();
+        body.position(position + 8);
+
+        AuditLog log = new AuditLog();
+        log.setTimestamp(Instant.ofEpochSecond(body.getLong(), body.getInt()));
+        log.setId(readString(body));
+        log.setActionType(readString(body));
+        log.setEntityType(readString(body));
+        log.setEntityId(readString(body));
+        log.setActorName(readString(body));
+        log.setEntityTypeKey(lowerCase(log.getEntityType()));
+        log.setActorNameKey(lowerCase(log.getActorName()));
+        return new Header(log, body.position());
+    }
+
+    /**
+     * Parses the payload of a record whose header was decoded with {@link #decodeHeader}.
+     */
+    void decodePayload(ByteBuffer segment, Header header) {
+        int length = segment.getInt(header.payloadPosition());
+        if (length < 0) {
+            return;
+        }
+        byte[] json = new byte[length];
+        segment.get(header.payloadPosition() + Integer.BYTES, json);
+        try {
+            header.log().setPayload(objectMapper.readValue(json, PAYLOAD_TYPE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt audit payload", e);
+        }
+    }
+
+    private byte[] json(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode audit payload", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Audit field too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String readString(ByteBuffer body) {
+        short length = body.getShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    record Header(AuditLog log, int payloadPosition) {}
+}
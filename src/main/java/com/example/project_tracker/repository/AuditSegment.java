@@ -0,0 +1,304 @@
+package com.example.project_tracker.repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One append-only segment file of the local audit log, together with its sparse time index.
+ * <p>
+ * The index holds one {@link Block} per {@code indexInterval} records with the time range
+ * the block covers, so range queries only touch blocks that can contain matches. Records
+ * after the last complete block form the tail and are scanned without index help.
+ * <p>
+ * Only the store's writer thread appends. Readers see records up to {@link #committedSize()},
+ * which is advanced only after the bytes have been forced to disk.
+ */
+final class AuditSegment {
+
+    private final long id;
+    private final Path file;
+    private final Path indexFile;
+    private final List<Block> blocks = new ArrayList<>();
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer sealedBuffer;
+    private volatile long committedSize;
+
+    // Block currently being filled by the writer thread
+    private int openBlockStart;
+    private int openBlockCount;
+    private long openBlockMin = Long.MAX_VALUE;
+    private long openBlockMax = Long.MIN_VALUE;
+
+    private AuditSegment(long id, Path directory) {
+        this.id = id;
+        this.file = directory.resolve(String.format("%020d.seg", id));
+        this.indexFile = directory.resolve(String.format("%020d.idx", id));
+    }
+
+    /**
+     * Creates a new, empty segment ready for appends.
+     */
+    static AuditSegment create(long id, Path directory) throws IOException {
+        AuditSegment segment = new AuditSegment(id, directory);
+        segment.channel = FileChannel.open(segment.file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment, validating every record and truncating a torn tail left by a crash.
+     *
+     * @param active whether the segment stays open for appends
+     */
+    static AuditSegment recover(long id, Path directory, int indexInterval, boolean active) throws IOException {
+        AuditSegment segment = new AuditSegment(id, directory);
+        segment.channel = FileChannel.open(segment.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (!active && segment.loadIndex()) {
+            segment.committedSize = segment.channel.size();
+            segment.mapSealed();
+            return segment;
+        }
+
+        long fileSize = segment.channel.size();
+        MappedByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        int position = 0;
+        while (true) {
+            long end = AuditRecordCodec.validate(buffer, position, (int) fileSize);
+            if (end < 0) {
+                break;
+            }
+            segment.indexRecord(position, (int) end, AuditRecordCodec.timestamp(buffer, position).toEpochMilli(),
+                    indexInterval);
+            position = (int) end;
+        }
+        if (position < fileSize) {
+            segment.channel.truncate(position);
+            segment.channel.force(true);
+        }
+        segment.channel.position(position);
+        segment.committedSize = position;
+
+        if (!active) {
+            segment.seal();
+        }
+        return segment;
+    }
+
+    long id() {
+        return id;
+    }
+
+    long committedSize() {
+        return committedSize;
+    }
+
+    boolean isSealed() {
+        return sealedBuffer != null;
+    }
+
+    /**
+     * Writes encoded records at the end of the segment. They are not visible to readers
+     * until {@link #commit} is called.
+     */
+    void write(ByteBuffer[] records) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer record : records) {
+            remaining += record.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(records);
+        }
+    }
+
+    /**
+     * Forces written records to disk and publishes them to readers.
+     */
+    void commit() throws IOException {
+        channel.force(false);
+        committedSize = channel.position();
+    }
+
+    /**
+     * Drops records written since the last commit, after a failed write or force.
+     */
+    void rollback() throws IOException {
+        channel.truncate(committedSize);
+        channel.position(committedSize);
+    }
+
+    /**
+     * Adds the record stored between {@code start} and {@code end} to the sparse index.
+     */
+    void indexRecord(int start, int end, long timestampMillis, int indexInterval) {
+        if (openBlockCount == 0) {
+            openBlockStart = start;
+        }
+        openBlockCount++;
+        openBlockMin = Math.min(openBlockMin, timestampMillis);
+        openBlockMax = Math.max(openBlockMax, timestampMillis);
+        if (openBlockCount == indexInterval) {
+            closeBlock(end);
+        }
+    }
+
+    private void closeBlock(int end) {
+        synchronized (blocks) {
+            blocks.add(new Block(openBlockStart, end, openBlockMin, openBlockMax));
+        }
+        openBlockCount = 0;
+        openBlockMin = Long.MAX_VALUE;
+        openBlockMax = Long.MIN_VALUE;
+    }
+
+    /**
+     * Closes the segment for writing, persists its index and maps it read-only.
+     */
+    void seal() throws IOException {
+        if (openBlockCount > 0) {
+            closeBlock((int) committedSize);
+        }
+        writeIndex();
+        mapSealed();
+    }
+
+    private void mapSealed() throws IOException {
+        FileChannel current = channel;
+        sealedBuffer = current.map(FileChannel.MapMode.READ_ONLY, 0, committedSize);
+        channel = null;
+        current.close();
+    }
+
+    /**
+     * Returns a consistent view of the committed records for one query.
+     */
+    View view() throws IOException {
+        long size = committedSize;
+        ByteBuffer buffer = map(size);
+
+        // The writer may close a block after we read the size, so leave out anything past it
+        List<Block> snapshot = new ArrayList<>();
+        synchronized (blocks) {
+            for (Block block : blocks) {
+                if (block.end() > size) {
+                    break;
+                }
+                snapshot.add(block);
+            }
+        }
+        int indexedEnd = snapshot.isEmpty() ? 0 : snapshot.get(snapshot.size() - 1).end();
+        if (indexedEnd < size) {
+            snapshot.add(new Block(indexedEnd, (int) size, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        return new View(buffer, snapshot);
+    }
+
+    private ByteBuffer map(long size) throws IOException {
+        MappedByteBuffer sealed = sealedBuffer;
+        if (sealed != null) {
+            return sealed.duplicate();
+        }
+        FileChannel current = channel;
+        if (current == null || size == 0) {
+            return ByteBuffer.allocate(0);
+        }
+        try {
+            return current.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (ClosedChannelException e) {
+            // Sealed while we were mapping it
+            return sealedBuffer.duplicate();
+        }
+    }
+
+    /**
+     * Latest record time covered by the index, or {@link Long#MAX_VALUE} if unknown.
+     */
+    long maxTimestampMillis() {
+        synchronized (blocks) {
+            if (!isSealed() || blocks.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+            return blocks.stream().mapToLong(Block::maxMillis).max().orElse(Long.MAX_VALUE);
+        }
+    }
+
+    void delete() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        Files.deleteIfExists(indexFile);
+        Files.deleteIfExists(file);
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp);
+             DataOutputStream data = new DataOutputStream(out)) {
+            data.writeLong(committedSize);
+            data.writeInt(blocks.size());
+            for (Block block : blocks) {
+                data.writeInt(block.start());
+                data.writeInt(block.end());
+                data.writeLong(block.minMillis());
+                data.writeLong(block.maxMillis());
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private boolean loadIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(indexFile);
+             DataInputStream data = new DataInputStream(in)) {
+            if (data.readLong() != channel.size()) {
+                Files.deleteIfExists(indexFile);
+                return false;
+            }
+            int count = data.readInt();
+            List<Block> loaded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                loaded.add(new Block(data.readInt(), data.readInt(), data.readLong(), data.readLong()));
+            }
+            blocks.addAll(loaded);
+            return true;
+        } catch (IOException e) {
+            Files.deleteIfExists(indexFile);
+            return false;
+        }
+    }
+
+    /**
+     * A run of records starting at {@code start} and ending before {@code end},
+     * with the range of their timestamps in epoch milliseconds.
+     */
+    record Block(int start, int end, long minMillis, long maxMillis) {
+
+        boolean overlaps(long fromMillis, long toMillis) {
+            return maxMillis >= fromMillis && minMillis < toMillis;
+        }
+    }
+
+    record View(ByteBuffer buffer, List<Block> blocks) {}
+}
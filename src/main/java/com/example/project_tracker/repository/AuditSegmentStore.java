@@ -0,0 +1,353 @@
+package com.example.project_tracker.repository;
+
+import com.example.project_tracker.models.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit log kept in local segment files, used when {@code audit.backend=local}.
+ * <p>
+ * Appends are queued and a single writer thread commits them in groups: every record in
+ * the group is written with one gathering write and made durable with one
+ * {@code FileChannel.force}. When the active segment reaches {@code audit.local.segment-bytes}
+ * it is sealed, its sparse time index is saved next to it and it is memory-mapped read-only.
+ * <p>
+ * Reads walk segments and index blocks newest first, skipping blocks whose time range
+ * does not overlap the query. Sealed segments older than {@code audit.local.retention-days}
+ * are deleted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "audit.backend", havingValue = "local")
+public class AuditSegmentStore {
+
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int indexInterval;
+    private final int maxGroupSize;
+    private final long enqueueTimeoutMs;
+    private final Duration retention;
+    private final AuditRecordCodec codec;
+    private final BlockingQueue<AuditLog> queue;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+
+    private final Timer commitLatency;
+    private final DistributionSummary commitSize;
+    private final Counter failedEvents;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditSegmentStore(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${audit.local.dir:audit-data}") String directory,
+                             @Value("${audit.local.segment-bytes:67108864}") long segmentBytes,
+                             @Value("${audit.local.index-interval:64}") int indexInterval,
+                             @Value("${audit.local.queue-capacity:10000}") int queueCapacity,
+                             @Value("${audit.local.max-group-size:500}") int maxGroupSize,
+                             @Value("${audit.local.enqueue-timeout-ms:100}") long enqueueTimeoutMs,
+                             @Value("${audit.local.retention-days:30}") long retentionDays) {
+        if (segmentBytes <= 0 || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("audit.local.segment-bytes must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.maxGroupSize = maxGroupSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.retention = Duration.ofDays(retentionDays);
+        this.codec = new AuditRecordCodec(objectMapper);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        meterRegistry.gauge("audit.local.queue.depth", queue, BlockingQueue::size);
+        meterRegistry.gauge("audit.local.segments", segments, List::size);
+        this.commitLatency = Timer.builder("audit.local.commit.latency").register(meterRegistry);
+        this.commitSize = DistributionSummary.builder("audit.local.commit.size").register(meterRegistry);
+        this.failedEvents = meterRegistry.counter("audit.local.events.failed");
+    }
+
+    /**
+     * Recovers existing segments and starts the writer thread.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".seg")) {
+                    ids.add(Long.parseLong(name.substring(0, name.length() - 4)));
+                } else if (name.endsWith(".tmp")) {
+                    file.toFile().delete();
+                }
+            });
+        }
+        ids.sort(null);
+
+        for (int i = 0; i < ids.size(); i++) {
+            boolean active = i == ids.size() - 1;
+            segments.add(AuditSegment.recover(ids.get(i), directory, indexInterval, active));
+        }
+        if (segments.isEmpty()) {
+            segments.add(AuditSegment.create(0, directory));
+        }
+
+        running = true;
+        worker = new Thread(this::writeLoop, "audit-segment-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Commits whatever is still queued and closes the active segment.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        activeSegment().close();
+    }
+
+    /**
+     * Queues a record for the next group commit. If the queue stays full for
+     * {@code audit.local.enqueue-timeout-ms} the record is dropped and counted, so a stalled
+     * writer slows audited requests down but never blocks them indefinitely.
+     *
+     * @param log the fully built audit record; its id must already be set
+     */
+    public void append(AuditLog log) {
+        try {
+            if (!queue.offer(log, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                failedEvents.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedEvents.increment();
+        }
+    }
+
+    /**
+     * Visits committed records with {@code from <= timestamp < to}, newest first.
+     * <p>
+     * The filter is applied before the payload is parsed, so it only sees the header fields.
+     *
+     * @param from    inclusive lower bound on the timestamp
+     * @param to      exclusive upper bound on the timestamp
+     * @param before  only visit records older than this position, or {@code null} to start at the newest
+     * @param filter  decides which records are passed to the visitor
+     * @param visitor receives matching records; returning {@code false} stops the scan
+     * @throws IllegalArgumentException if {@code before} does not point at a record
+     */
+    public void scan(Instant from, Instant to, Position before, Predicate<AuditLog> filter, Visitor visitor) {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli() + 1;
+        List<AuditSegment> snapshot = new ArrayList<>(segments);
+
+        try {
+            for (int s = snapshot.size() - 1; s >= 0; s--) {
+                AuditSegment segment = snapshot.get(s);
+                if (before != null && segment.id() > before.segmentId()) {
+                    continue;
+                }
+                if (segment.maxTimestampMillis() < fromMillis) {
+                    continue;
+                }
+
+                AuditSegment.View view = segment.view();
+                ByteBuffer buffer = view.buffer();
+                int limit = buffer.limit();
+                if (before != null && segment.id() == before.segmentId()) {
+                    if (before.offset() < 0 || AuditRecordCodec.validate(buffer, before.offset(), buffer.limit()) < 0) {
+                        throw new IllegalArgumentException("Invalid cursor");
+                    }
+                    limit = before.offset();
+                }
+
+                List<AuditSegment.Block> blocks = view.blocks();
+                for (int b = blocks.size() - 1; b >= 0; b--) {
+                    AuditSegment.Block block = blocks.get(b);
+                    if (block.start() >= limit || !block.overlaps(fromMillis, toMillis)) {
+                        continue;
+                    }
+                    if (!scanBlock(segment.id(), buffer, block.start(), Math.min(block.end(), limit),
+                            from, to, filter, visitor)) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit segments", e);
+        }
+    }
+
+    /**
+     * Walks one block backwards using the trailing length of each record.
+     */
+    private boolean scanBlock(long segmentId, ByteBuffer buffer, int start, int end, Instant from, Instant to,
+                              Predicate<AuditLog> filter, Visitor visitor) {
+        int position = end;
+        while (position > start) {
+            int recordStart = position - buffer.getInt(position - Integer.BYTES) - AuditRecordCodec.FRAME_OVERHEAD;
+            position = recordStart;
+
+            Instant timestamp = AuditRecordCodec.timestamp(buffer, recordStart);
+            if (timestamp.isBefore(from) || !timestamp.isBefore(to)) {
+                continue;
+            }
+            AuditRecordCodec.Header header = codec.decodeHeader(buffer, recordStart);
+            if (!filter.test(header.log())) {
+                continue;
+            }
+            codec.decodePayload(buffer, header);
+            if (!visitor.visit(header.log(), new Position(segmentId, recordStart))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes sealed segments whose newest record is older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${audit.local.retention-check-interval-ms:3600000}")
+    public void deleteExpiredSegments() {
+        long cutoff = Instant.now().minus(retention).toEpochMilli();
+        for (AuditSegment segment : segments) {
+            if (!segment.isSealed() || segment.maxTimestampMillis() >= cutoff) {
+                continue;
+            }
+            segments.remove(segment);
+            try {
+                segment.delete();
+                log.info("Deleted expired audit segment {}", segment.id());
+            } catch (IOException e) {
+                log.warn("Failed to delete audit segment {}", segment.id(), e);
+            }
+        }
+    }
+
+    private AuditSegment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void writeLoop() {
+        List<AuditLog> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, maxGroupSize - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                // Keep the only writer thread alive; the group is lost but later appends still commit
+                failedEvents.increment(group.size());
+                log.error("Failed to commit {} audit events", group.size(), e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<AuditLog> group) {
+        List<AuditLog> encoded = new ArrayList<>(group.size());
+        List<ByteBuffer> buffers = new ArrayList<>(group.size());
+        long bytes = 0;
+        for (AuditLog entry : group) {
+            try {
+                ByteBuffer record = ByteBuffer.wrap(codec.encode(entry));
+                encoded.add(entry);
+                buffers.add(record);
+                bytes += record.remaining();
+            } catch (RuntimeException e) {
+                failedEvents.increment();
+                log.warn("Dropping audit event {} that could not be encoded", entry.getId(), e);
+            }
+        }
+        if (encoded.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] records = buffers.toArray(new ByteBuffer[0]);
+
+        AuditSegment segment = activeSegment();
+        try {
+            if (segment.committedSize() > 0 && segment.committedSize() + bytes > segmentBytes) {
+                segment = roll(segment);
+            }
+
+            long startNanos = System.nanoTime();
+            int position = (int) segment.committedSize();
+            segment.write(records);
+            segment.commit();
+            commitLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            commitSize.record(records.length);
+
+            for (int i = 0; i < records.length; i++) {
+                int end = position + records[i].capacity();
+                segment.indexRecord(position, end, encoded.get(i).getTimestamp().toEpochMilli(), indexInterval);
+                position = end;
+            }
+        } catch (IOException e) {
+            failedEvents.increment(encoded.size());
+            log.error("Failed to commit {} audit events", encoded.size(), e);
+            try {
+                segment.rollback();
+            } catch (IOException rollbackFailure) {
+                log.error("Failed to roll back audit segment {}", segment.id(), rollbackFailure);
+            }
+        }
+    }
+
+    private AuditSegment roll(AuditSegment current) throws IOException {
+        AuditSegment next = AuditSegment.create(current.id() + 1, directory);
+        current.seal();
+        segments.add(next);
+        return next;
+    }
+
+    /**
+     * Location of a record: the segment it lives in and its byte offset there.
+     */
+    public record Position(long segmentId, int offset) {}
+
+    @FunctionalInterface
+    public interface Visitor {
+
+        boolean visit(AuditLog log, Position position);
+    }
+}
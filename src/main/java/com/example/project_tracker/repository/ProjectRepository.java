@@ -1,9 +1,11 @@
 package com.example.project_tracker.repository;
 
+import com.example.project_tracker.DTO.response.ProjectResponseDTO;
 import com.example.project_tracker.models.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -11,5 +13,13 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
             "(SELECT t FROM Task t WHERE t.project.id = p.id)")
     List<Project> findProjectsWithoutTasks();
 
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // Read-only projection straight into DTOs: no managed entities, snapshots or proxies
+    @Query("SELECT new com.example.project_tracker.DTO.response.ProjectResponseDTO(" +
+            "p.id, p.name, p.description, p.deadline, p.status) FROM Project p")
+    List<ProjectResponseDTO> findAllDtos();
+
 
 }
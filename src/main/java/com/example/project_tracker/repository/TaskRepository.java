@@ -1,27 +1,87 @@
 package com.example.project_tracker.repository;
 
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
 import com.example.project_tracker.models.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     List<Task> findByProjectId(Long projectId);
 //    List<Task> findByDeveloperId(Long developerId);
     List<Task> findAll(Sort sort);
     List<Task> findByUserId(Long userId);
     void deleteByProjectId(Long projectId);
-    List<Task> findByDueDateBeforeAndStatusNot(java.time.LocalDate dueDate, String completedStatus);
 
-    @Query("SELECT t.status as status, COUNT(t) as count " +
-            "FROM Task t GROUP BY t.status")
-    List<TaskStatusCountProjection> getTaskCountGroupedByStatus();
+    String TASK_DTO = "new com.example.project_tracker.DTO.response.TaskResponseDTO(" +
+            "t.id, t.title, t.description, t.status, t.dueDate, t.project.id, t.user.id, t.createdAt, t.updatedAt)";
+
+    // Read-only projections straight into DTOs: no managed entities, snapshots or proxies
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.project.id = :projectId")
+    List<TaskResponseDTO> findDtosByProjectId(Long projectId);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.user.id = :userId")
+    List<TaskResponseDTO> findDtosByUserId(Long userId);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.dueDate < :date AND t.status <> :excludedStatus")
+    List<TaskResponseDTO> findOverdueDtos(LocalDate date, TaskStatus excludedStatus);
+
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.dueDate IS NOT NULL AND t.status <> :excludedStatus")
+    List<TaskResponseDTO> findOpenDtos(TaskStatus excludedStatus);
+
+    /**
+     * Streams the tasks matching the optional filters in ID order, for exports.
+     * The fetch size of {@link Integer#MIN_VALUE} makes MySQL Connector/J stream rows instead of buffering the result.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t WHERE (:projectId IS NULL OR t.project.id = :projectId) " +
+            "AND (:userId IS NULL OR t.user.id = :userId) " +
+            "AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    Stream<Task> streamForExport(Long projectId, Long userId, TaskStatus status);
+
+    /**
+     * Streams every task as a DTO, for building the search index. Must be called inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT " + TASK_DTO + " FROM Task t")
+    Stream<TaskResponseDTO> streamAllDtos();
+
+    @Query("SELECT t.status as status, COUNT(t) as count FROM Task t " +
+            "WHERE (:projectId IS NULL OR t.project.id = :projectId) " +
+            "AND (:userId IS NULL OR t.user.id = :userId) GROUP BY t.status")
+    List<TaskStatusCountProjection> countGroupedByStatus(Long projectId, Long userId);
+
+    @Query("SELECT t.project.id as projectId, t.user.id as userId, t.status as status, COUNT(t) as count " +
+            "FROM Task t GROUP BY t.project.id, t.user.id, t.status")
+    List<TaskGroupCountProjection> countGroupedByProjectUserStatus();
 
     public interface TaskStatusCountProjection {
-        String getStatus();
+        TaskStatus getStatus();
+        Long getCount();
+    }
+
+    public interface TaskGroupCountProjection {
+        Long getProjectId();
+        Long getUserId();
+        TaskStatus getStatus();
         Long getCount();
     }
 
@@ -1,11 +1,31 @@
 package com.example.project_tracker.repository;
 
+import com.example.project_tracker.enums.Roles;
 import com.example.project_tracker.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
+
+    // Selects only ids, so the EAGER skills collection is not loaded
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select u.id as id, u.tokenEpoch as tokenEpoch, u.roles as roles from User u")
+    List<TokenStateView> findAllTokenStates();
+
+    /**
+     * The fields stateless tokens are checked against.
+     */
+    interface TokenStateView {
+        Long getId();
+        Long getTokenEpoch();
+        Roles getRoles();
+    }
 }
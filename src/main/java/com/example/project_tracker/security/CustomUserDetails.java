@@ -1,5 +1,6 @@
 package com.example.project_tracker.security;
 
+import com.example.project_tracker.enums.Roles;
 import com.example.project_tracker.models.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,6 +18,7 @@ import java.util.List;
 public class CustomUserDetails implements UserDetails {
 
     private final User user;
+    private final boolean fullyLoaded;
 
     /**
      * Constructs a CustomUserDetails instance by wrapping a {@link User} entity.
@@ -25,6 +27,24 @@ public class CustomUserDetails implements UserDetails {
      */
     public CustomUserDetails(User user) {
         this.user = user;
+        this.fullyLoaded = true;
+    }
+
+    /**
+     * Constructs a lightweight principal from the claims of a stateless token, without loading the user.
+     * The wrapped {@link User} only has its ID, email and role set, which is enough to use it as a reference.
+     *
+     * @param userId the user's ID
+     * @param email  the user's email
+     * @param role   the user's role
+     */
+    public CustomUserDetails(Long userId, String email, Roles role) {
+        User reference = new User();
+        reference.setId(userId);
+        reference.setEmail(email);
+        reference.setRoles(role);
+        this.user = reference;
+        this.fullyLoaded = false;
     }
 
     /**
@@ -113,4 +133,14 @@ public class CustomUserDetails implements UserDetails {
     public User getUser() {
         return user;
     }
+
+    /**
+     * Returns whether the wrapped user was loaded from the database, as opposed to
+     * built from token claims with only its ID, email and role.
+     *
+     * @return {@code true} if every field of {@link #getUser()} is populated
+     */
+    public boolean isFullyLoaded() {
+        return fullyLoaded;
+    }
 }
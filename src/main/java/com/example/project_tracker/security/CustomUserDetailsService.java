@@ -2,28 +2,53 @@ package com.example.project_tracker.security;
 
 import com.example.project_tracker.models.User;
 import com.example.project_tracker.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Locale;
+
 /**
  * Custom implementation of {@link UserDetailsService} used by Spring Security
  * to load user-specific data during the authentication process.
  * <p>
  * Retrieves user information by email and wraps it in a {@link CustomUserDetails} object.
+ * <p>
+ * Loaded principals are cached by email, so authenticated requests do not query the user
+ * and its skills on every call. The cache is bounded and entries expire after a fixed TTL;
+ * {@code UserService} calls {@link #evict} whenever it changes or deletes a user.
  */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, CustomUserDetails> principals;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                                    @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+    }
 
     /**
      * Loads a user by their email address.
      * <p>
-     * This method is called automatically by Spring Security during login.
+     * This method is called automatically by Spring Security during login
+     * and by the JWT filter on every authenticated request.
      *
      * @param email the email of the user to retrieve
      * @return a {@link UserDetails} object representing the authenticated user
@@ -31,8 +56,25 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new CustomUserDetails(user);
+        return principals.get(key(email), key -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            return new CustomUserDetails(user);
+        });
+    }
+
+    /**
+     * Drops the cached principal for the given email, if any.
+     *
+     * @param email the email of the user that changed
+     */
+    public void evict(String email) {
+        if (email != null) {
+            principals.invalidate(key(email));
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
     }
 }
@@ -1,5 +1,7 @@
 package com.example.project_tracker.security;
 
+import com.example.project_tracker.enums.Roles;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
@@ -22,6 +24,10 @@ import java.io.IOException;
  * JWT Authentication Filter that processes incoming requests and validates JWT tokens.
  * <p>
  * Standardizes error responses for token-related failures while maintaining the filter chain.
+ * The token is verified once per request through {@link JwtUtils#verify}. Stateless tokens
+ * (see {@code jwt.stateless}) are turned into a principal straight from their claims after a
+ * check against the {@link TokenEpochRegistry}; other tokens load the user by email.
+ * Tokens revoked through the {@link RevokedTokenRegistry} are rejected first.
  */
 @Component
 @RequiredArgsConstructor
@@ -29,6 +35,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final RevokedTokenRegistry revokedTokenRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -44,17 +52,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             String jwt = authHeader.substring(7);
-            String userEmail = jwtUtils.getEmailFromJwt(jwt);
+            Claims claims = jwtUtils.verify(jwt);
+            if (revokedTokenRegistry.isRevoked(claims.getId())) {
+                sendErrorResponse(response, "Token revoked", HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            String userEmail = claims.getSubject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtUtils.validateToken(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                UserDetails userDetails;
+                if (jwtUtils.isStateless(claims)) {
+                    userDetails = statelessPrincipal(claims);
+                    if (userDetails == null) {
+                        sendErrorResponse(response, "Token revoked", HttpServletResponse.SC_UNAUTHORIZED);
+                        return;
+                    }
+                } else {
+                    userDetails = this.userDetailsService.loadUserByUsername(userEmail);
                 }
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
 
             filterChain.doFilter(request, response);
@@ -68,6 +87,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Builds a principal from the token's claims, or returns {@code null} if the token's
+     * epoch or role no longer match the user's.
+     */
+    private CustomUserDetails statelessPrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        Long epoch = claims.get(JwtUtils.EPOCH_CLAIM, Long.class);
+        Roles role = Roles.valueOf(claims.get(JwtUtils.ROLE_CLAIM, String.class));
+        if (userId == null || epoch == null || !tokenEpochRegistry.isCurrent(userId, epoch, role)) {
+            return null;
+        }
+        return new CustomUserDetails(userId, claims.getSubject(), role);
+    }
+
     private void sendErrorResponse(HttpServletResponse response, String message, int status) throws IOException {
         response.setContentType("application/json");
         response.setStatus(status);
@@ -1,40 +1,66 @@
 package com.example.project_tracker.security;
 
+import com.example.project_tracker.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for generating, parsing, and validating JWT tokens.
  * <p>
  * Uses HMAC SHA key signing for token security.
  * Tokens are used to authenticate users within the application.
+ * <p>
+ * The signing key and parser are built once. Verified claims are cached under the SHA-256
+ * digest of the token until the token expires, so a client reusing the same token only pays
+ * for the HMAC check on its first request.
  */
 @Component
 public class JwtUtils {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String EPOCH_CLAIM = "epoch";
+
     // Secret key used to sign JWTs
     private final String jwtSecret = "projectTrackerSecretKeyIsAnActiveDataThatNeedToBeUsed";
 
-    // Default token expiration in milliseconds (24 hours)
-    private final long jwtExpirationMs = 86400000;
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parser().verifyWith(signingKey).build();
+    private final Cache<String, Claims> verifiedTokens;
 
-    /**
-     * Generates the cryptographic key used to sign the JWT.
-     *
-     * @return the signing {@link Key}
-     */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private final boolean stateless;
+
+    public JwtUtils(MeterRegistry meterRegistry,
+                    @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize,
+                    @Value("${jwt.stateless:false}") boolean stateless) {
+        this.stateless = stateless;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
     }
 
     /**
      * Generates a JWT token for a given user's email.
-     * The token is valid for 15 minutes.
+     * The token is valid for 15 minutes and carries a random {@code jti} so it can be revoked.
      *
      * @param email the user's email to include as the subject
      * @return a signed JWT token string
@@ -44,43 +70,103 @@ public class JwtUtils {
 
         return Jwts.builder()
                 .subject(email)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date())
                 .expiration(new Date(new Date().getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Extracts the user's email (subject) from the provided JWT token.
+     * Generates a JWT token for a loaded user.
+     * <p>
+     * When {@code jwt.stateless} is enabled the token also carries the user's ID, role and
+     * token epoch, so requests can be authenticated without loading the user.
      *
-     * @param token the JWT token to decode
-     * @return the email (subject) embedded in the token
-     * @throws JwtException if the token is invalid or expired
+     * @param user the authenticated user
+     * @return a signed JWT token string
+     */
+    public String generateToken(User user) {
+        if (!stateless) {
+            return generateToken(user.getEmail());
+        }
+        long jwtExpirationMs = 15 * 60 * 1000; // 15 minutes
+
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .id(UUID.randomUUID().toString())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRoles().name())
+                .claim(EPOCH_CLAIM, user.getTokenEpoch())
+                .issuedAt(new Date())
+                .expiration(new Date(new Date().getTime() + jwtExpirationMs))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Returns whether the claims come from a stateless token that can be trusted without loading the user.
      */
-    public String getEmailFromJwt(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    public boolean isStateless(Claims claims) {
+        return stateless && claims.containsKey(USER_ID_CLAIM);
     }
 
     /**
-     * Validates the JWT token's structure, signature, and expiration.
+     * Verifies the token's signature and expiration and returns its claims.
      *
-     * @param token the JWT token to validate
-     * @return {@code true} if the token is valid; {@code false} otherwise
+     * @param token the JWT token to verify
+     * @return the verified claims
+     * @throws JwtException             if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is empty
      */
-    public boolean validateToken(String token) {
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && isUnexpired(cached)) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+
+    private static boolean isUnexpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() > System.currentTimeMillis();
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Keeps each cached entry only until the token it came from expires.
+     */
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return TimeUnit.MINUTES.toNanos(15);
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
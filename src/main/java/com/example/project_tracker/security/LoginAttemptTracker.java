@@ -0,0 +1,124 @@
+package com.example.project_tracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per email and per client IP so throttled attempts can be rejected
+ * before the password hash is checked.
+ * <p>
+ * Each email and each IP has its own exact counter, so failures against one account never count
+ * against another. A counter starts with the first failure and expires one window later, which
+ * also ends the throttle. The counters are kept in bounded caches; when an attacker floods them
+ * with distinct keys the least useful counters are evicted, which can only under-count.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private final Cache<String, Attempts> emailAttempts;
+    private final Cache<String, Attempts> ipAttempts;
+    private final long windowMillis;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    public LoginAttemptTracker(MeterRegistry meterRegistry,
+                               @Value("${auth.throttle.max-tracked-keys:100000}") long maxTrackedKeys,
+                               @Value("${auth.throttle.window-seconds:300}") long windowSeconds,
+                               @Value("${auth.throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                               @Value("${auth.throttle.max-failures-per-ip:20}") int maxFailuresPerIp) {
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.emailAttempts = newCache(maxTrackedKeys, windowSeconds);
+        this.ipAttempts = newCache(maxTrackedKeys, windowSeconds);
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, emailAttempts, "auth.login.attempts.email");
+        CaffeineCacheMetrics.monitor(meterRegistry, ipAttempts, "auth.login.attempts.ip");
+        this.throttledByEmail = meterRegistry.counter("auth.login.throttled", "reason", "email");
+        this.throttledByIp = meterRegistry.counter("auth.login.throttled", "reason", "ip");
+    }
+
+    /**
+     * Returns how many seconds the caller must wait before trying again, or 0 if the attempt may proceed.
+     *
+     * @param email    the email being logged into
+     * @param clientIp the address the attempt came from, or {@code null} if unknown
+     */
+    public long retryAfterSeconds(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (email != null) {
+            long retryAfter = retryAfter(emailAttempts.getIfPresent(normalize(email)), maxFailuresPerEmail, now);
+            if (retryAfter > 0) {
+                throttledByEmail.increment();
+                return retryAfter;
+            }
+        }
+        if (clientIp != null) {
+            long retryAfter = retryAfter(ipAttempts.getIfPresent(clientIp), maxFailuresPerIp, now);
+            if (retryAfter > 0) {
+                throttledByIp.increment();
+                return retryAfter;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Records a failed login for the email and the client IP.
+     */
+    public void recordFailure(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (email != null) {
+            emailAttempts.get(normalize(email), key -> new Attempts(now)).failures.incrementAndGet();
+        }
+        if (clientIp != null) {
+            ipAttempts.get(clientIp, key -> new Attempts(now)).failures.incrementAndGet();
+        }
+    }
+
+    private long retryAfter(Attempts attempts, int maxFailures, long now) {
+        if (attempts == null || attempts.failures.get() < maxFailures) {
+            return 0;
+        }
+        long remainingMillis = attempts.windowStart + windowMillis - now;
+        return remainingMillis > 0 ? Math.max(1, (remainingMillis + 999) / 1000) : 0;
+    }
+
+    private static Cache<String, Attempts> newCache(long maxTrackedKeys, long windowSeconds) {
+        // Only the first failure writes the entry, so it expires one window after that failure
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Failures counted for one key since the start of its window.
+     */
+    private static final class Attempts {
+
+        final long windowStart;
+        final AtomicInteger failures = new AtomicInteger();
+
+        Attempts(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+}
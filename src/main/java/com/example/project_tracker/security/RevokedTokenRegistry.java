@@ -0,0 +1,142 @@
+package com.example.project_tracker.security;
+
+import com.example.project_tracker.models.RevokedToken;
+import com.example.project_tracker.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deny-list of revoked JWTs, checked on every authenticated request.
+ * <p>
+ * Revoked token IDs are stored in the {@code revoked_tokens} table and added to an in-memory
+ * {@link BloomFilter}. A token whose ID is not in the filter is accepted without touching the
+ * database; only filter hits are confirmed with an exact lookup. Every
+ * {@code jwt.revocation.rebuild-ms} rows for expired tokens are deleted and the filter is rebuilt
+ * from the remaining ones, which both prunes it and picks up revocations made on other nodes.
+ * <p>
+ * Until the first rebuild succeeds, every check goes to the database.
+ */
+@Slf4j
+@Component
+public class RevokedTokenRegistry {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+
+    private final Counter negatives;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+    private boolean rebuilding;
+    private final Set<String> revokedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public RevokedTokenRegistry(RevokedTokenRepository revokedTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${jwt.revocation.expected-tokens:10000}") long expectedTokens,
+                                @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedTokens, falsePositiveRate);
+
+        this.negatives = meterRegistry.counter("jwt.revocation.checks", "result", "negative");
+        this.confirmed = meterRegistry.counter("jwt.revocation.checks", "result", "revoked");
+        this.falsePositives = meterRegistry.counter("jwt.revocation.checks", "result", "false_positive");
+        meterRegistry.gauge("jwt.revocation.false_positive.rate", this, RevokedTokenRegistry::observedFalsePositiveRate);
+        meterRegistry.gauge("jwt.revocation.false_positive.expected", this, r -> r.filter.expectedFalsePositiveRate());
+        meterRegistry.gauge("jwt.revocation.bloom.bytes", this, r -> r.filter.sizeInBytes());
+        meterRegistry.gauge("jwt.revocation.tokens", this, r -> r.filter.insertions());
+    }
+
+    /**
+     * Returns whether the token with this ID was revoked. Tokens without an ID cannot be revoked.
+     *
+     * @param jti the token's {@code jti} claim
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (loaded && !filter.mightContain(jti)) {
+            negatives.increment();
+            return false;
+        }
+        if (revokedTokenRepository.existsById(jti)) {
+            confirmed.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param jti       the token's {@code jti} claim
+     * @param expiresAt when the token expires and the entry can be pruned
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, Instant.now()));
+        synchronized (this) {
+            filter.put(jti);
+            if (rebuilding) {
+                revokedDuringRebuild.add(jti);
+            }
+        }
+    }
+
+    /**
+     * Deletes expired entries and rebuilds the filter from the remaining ones.
+     * If the database is unavailable the current filter is kept.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-ms:60000}", initialDelayString = "${jwt.revocation.rebuild-ms:60000}")
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+            revokedDuringRebuild.clear();
+        }
+        try {
+            Instant now = Instant.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<String> jtis = revokedTokenRepository.findUnexpiredJtis(now);
+
+            BloomFilter next = BloomFilter.create(Math.max(expectedTokens, 2L * jtis.size()), falsePositiveRate);
+            jtis.forEach(next::put);
+            synchronized (this) {
+                revokedDuringRebuild.forEach(next::put);
+                filter = next;
+                loaded = true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the revoked token filter, keeping the previous one", e);
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                revokedDuringRebuild.clear();
+            }
+        }
+    }
+
+    /**
+     * Share of non-revoked tokens that hit the filter and needed a database lookup.
+     */
+    private double observedFalsePositiveRate() {
+        double hits = falsePositives.count();
+        double total = hits + negatives.count();
+        return total > 0 ? hits / total : 0;
+    }
+}
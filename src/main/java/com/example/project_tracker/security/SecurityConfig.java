@@ -2,7 +2,9 @@ package com.example.project_tracker.security;
 
 import com.example.project_tracker.security.handlers.CustomAccessDeniedHandler;
 import com.example.project_tracker.security.handlers.CustomAuthenticationEntryPoint;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -31,6 +33,13 @@ public class SecurityConfig {
     private final CustomOAuth2SuccessHandler customOAuth2SuccessHandler;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.hashing.threads:4}")
+    private int hashingThreads;
+
+    @Value("${security.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -47,18 +56,23 @@ public class SecurityConfig {
                 )
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/register", "/auth/login", "/oauth2/**", "/login.html", "/actuator/**").permitAll()
+                        .requestMatchers("/auth/register", "/auth/login", "/auth/refresh", "/oauth2/**", "/login.html", "/actuator/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "v3/api-docs.yaml").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/projects").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers(HttpMethod.GET, "/api/projects").hasAnyRole("ADMIN", "MANAGER", "CONTRACTOR", "DEVELOPER")
                         .requestMatchers(HttpMethod.GET, "/api/projects/{id}").hasAnyRole("ADMIN", "MANAGER", "DEVELOPER")
                         .requestMatchers(HttpMethod.PUT, "/api/projects/{id}").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers(HttpMethod.DELETE, "/api/projects/{id}").hasAnyRole("ADMIN", "MANAGER")
+                        .requestMatchers(HttpMethod.POST, "/auth/revoke").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/user/all").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/user/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/tasks/{id}").hasRole("DEVELOPER")
                         .requestMatchers(HttpMethod.POST, "/api/tasks").hasAnyRole("MANAGER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/tasks/bulk").hasAnyRole("MANAGER", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/tasks").hasAnyRole("MANAGER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/export").hasAnyRole("MANAGER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/counts", "/api/tasks/counts/**").hasAnyRole("MANAGER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/tasks/search").hasAnyRole("MANAGER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/tasks/{id}").hasAnyRole("MANAGER", "ADMIN")
 
                         .anyRequest().authenticated()
@@ -92,8 +106,12 @@ public class SecurityConfig {
         return provider;
     }
 
+    /**
+     * BCrypt, run on a bounded pool so hashing cannot occupy every request thread.
+     * See {@link BoundedPasswordEncoder}.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingThreads, hashingQueueCapacity, meterRegistry);
     }
 }
@@ -0,0 +1,71 @@
+package com.example.project_tracker.security;
+
+import com.example.project_tracker.models.Task;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Per-request cache of tasks, so the ownership check in {@link TaskSecurity} and the service
+ * method it guards load the task with a single query.
+ * <p>
+ * Entries are kept as attributes of the current HTTP request and disappear with it. Outside
+ * a request, for example in scheduled jobs, nothing is cached and every lookup goes to the loader.
+ */
+@Component
+public class TaskAccessCache {
+
+    private static final String ATTRIBUTE = TaskAccessCache.class.getName();
+
+    /**
+     * Returns the task, loading it at most once per request.
+     *
+     * @param taskId the task ID
+     * @param loader loads the task when it is not cached
+     */
+    public Optional<Task> task(Long taskId, Function<Long, Optional<Task>> loader) {
+        Entries entries = entries();
+        if (entries == null) {
+            return loader.apply(taskId);
+        }
+        Task cached = entries.tasks.get(taskId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Task> loaded = loader.apply(taskId);
+        loaded.ifPresent(task -> entries.tasks.put(taskId, task));
+        return loaded;
+    }
+
+    /**
+     * Forgets a task after it was changed or deleted in this request.
+     */
+    public void evict(Long taskId) {
+        Entries entries = entries();
+        if (entries != null) {
+            entries.tasks.remove(taskId);
+        }
+    }
+
+    private static Entries entries() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Entries entries = (Entries) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            entries = new Entries();
+            attributes.setAttribute(ATTRIBUTE, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entries;
+    }
+
+    private static class Entries {
+        private final Map<Long, Task> tasks = new HashMap<>();
+    }
+}
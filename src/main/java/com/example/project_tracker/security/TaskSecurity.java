@@ -1,31 +1,34 @@
 package com.example.project_tracker.security;
 
-import com.example.project_tracker.models.Task;
 import com.example.project_tracker.repository.TaskRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
 /**
  * Security component used to determine if the currently authenticated user
  * has permission to access or modify a specific task.
  * <p>
  * This is typically used in Spring Security method-level authorization via SpEL expressions.
+ * <p>
+ * The check loads the task through the {@link TaskAccessCache}, so the service method it guards
+ * reuses the same instance instead of selecting the task again.
  */
 @Component("taskSecurity")
 public class TaskSecurity {
 
     private final TaskRepository taskRepository;
+    private final TaskAccessCache taskAccessCache;
 
     /**
      * Constructs the TaskSecurity component with the required TaskRepository.
      *
-     * @param taskRepository the repository for accessing task data
+     * @param taskRepository  the repository for accessing task data
+     * @param taskAccessCache per-request cache of loaded tasks
      */
-    public TaskSecurity(TaskRepository taskRepository) {
+    public TaskSecurity(TaskRepository taskRepository, TaskAccessCache taskAccessCache) {
         this.taskRepository = taskRepository;
+        this.taskAccessCache = taskAccessCache;
     }
 
     /**
@@ -39,7 +42,9 @@ public class TaskSecurity {
         CustomUserDetails userDetails = (CustomUserDetails) auth.getPrincipal();
         Long currentUserId = userDetails.getUser().getId();
 
-        Optional<Task> taskOpt = taskRepository.findById(taskId);
-        return taskOpt.map(task -> task.getUser().getId().equals(currentUserId)).orElse(false);
+        // The lazy user reference already holds its ID, so reading it does not query
+        return taskAccessCache.task(taskId, taskRepository::findById)
+                .map(task -> task.getUser() != null && currentUserId.equals(task.getUser().getId()))
+                .orElse(false);
     }
 }
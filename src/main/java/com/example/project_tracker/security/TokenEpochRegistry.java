@@ -0,0 +1,81 @@
+package com.example.project_tracker.security;
+
+import com.example.project_tracker.enums.Roles;
+import com.example.project_tracker.repository.UserRepository;
+import com.example.project_tracker.utils.ReplayingSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of each user's token epoch and role, used to check stateless tokens
+ * without a database query.
+ * <p>
+ * A stateless token is accepted only while the user still exists and its epoch and role
+ * match the ones in the token. The map is reloaded from MySQL every {@code jwt.epoch-refresh-ms},
+ * and {@code UserService} updates it directly when it bumps an epoch or deletes a user, so
+ * changes made on this node apply immediately and changes made elsewhere within one refresh.
+ * A change made while a refresh is loading is replayed onto the loaded map, so the refresh
+ * cannot bring back a revoked epoch or a deleted user.
+ */
+@Component
+public class TokenEpochRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final ReplayingSnapshot<Map<Long, TokenState>> states =
+            new ReplayingSnapshot<>("token epochs", new ConcurrentHashMap<>());
+
+    public TokenEpochRegistry(UserRepository userRepository,
+                              @Value("${jwt.stateless:false}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Reloads every user's epoch and role. Does nothing unless stateless tokens are enabled.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.epoch-refresh-ms:10000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        states.rebuild(() -> {
+            Map<Long, TokenState> loaded = new ConcurrentHashMap<>();
+            for (UserRepository.TokenStateView view : userRepository.findAllTokenStates()) {
+                long epoch = view.getTokenEpoch() != null ? view.getTokenEpoch() : 0L;
+                loaded.put(view.getId(), new TokenState(epoch, view.getRoles()));
+            }
+            return loaded;
+        }, null);
+    }
+
+    /**
+     * Returns whether a token with this user ID, epoch and role is still valid.
+     */
+    public boolean isCurrent(Long userId, long epoch, Roles role) {
+        TokenState state = states.current().get(userId);
+        return state != null && state.epoch() == epoch && state.role() == role;
+    }
+
+    /**
+     * Records a user's new epoch and role after they were saved.
+     */
+    public void update(Long userId, long epoch, Roles role) {
+        states.apply(current -> current.put(userId, new TokenState(epoch, role)));
+    }
+
+    /**
+     * Forgets a deleted user, so their tokens stop working.
+     */
+    public void remove(Long userId) {
+        states.apply(current -> current.remove(userId));
+    }
+
+    private record TokenState(long epoch, Roles role) {}
+}
@@ -1,7 +1,7 @@
 package com.example.project_tracker.security.handlers;
 
 import com.example.project_tracker.annotations.Auditable;
-import com.example.project_tracker.service.AuditLogService;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.AuthenticationException;
@@ -19,9 +19,9 @@ import java.io.IOException;
 @Component
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final AuditLogService auditLogService;
+    private final AuditLogServiceInterface auditLogService;
 
-    public CustomAuthenticationEntryPoint(AuditLogService auditLogService) {
+    public CustomAuthenticationEntryPoint(AuditLogServiceInterface auditLogService) {
         this.auditLogService = auditLogService;
     }
 
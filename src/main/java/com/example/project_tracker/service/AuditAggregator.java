@@ -0,0 +1,63 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses high-volume audit events into periodic counter documents.
+ * <p>
+ * Each call to {@link #increment} only bumps an in-memory counter keyed by entity type,
+ * action type and actor. Every {@code audit.aggregate.flush-interval-ms} the counters are
+ * written out as one audit log per key, with the count and the window they cover.
+ */
+@Component
+public class AuditAggregator {
+
+    private final AuditLogServiceInterface auditLogService;
+    private final Map<AggregateKey, Long> counts = new ConcurrentHashMap<>();
+    private volatile Instant windowStart = Instant.now();
+
+    public AuditAggregator(AuditLogServiceInterface auditLogService) {
+        this.auditLogService = auditLogService;
+    }
+
+    /**
+     * Counts one occurrence of an action.
+     */
+    public void increment(String actionType, String entityType, String actorName) {
+        counts.merge(new AggregateKey(actionType, entityType, actorName), 1L, Long::sum);
+    }
+
+    /**
+     * Writes one summary audit log per counter and resets the counters.
+     */
+    @Scheduled(fixedDelayString = "${audit.aggregate.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        Instant start = windowStart;
+        Instant end = Instant.now();
+        windowStart = end;
+
+        for (AggregateKey key : counts.keySet()) {
+            Long count = counts.remove(key);
+            if (count == null || count == 0) {
+                continue;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("aggregated", true);
+            summary.put("count", count);
+            summary.put("windowStart", start);
+            summary.put("windowEnd", end);
+            auditLogService.logSummary(key.actionType(), key.entityType(), key.actorName(), summary);
+        }
+    }
+
+    private record AggregateKey(String actionType, String entityType, String actorName) {}
+}
@@ -0,0 +1,116 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.CircuitState;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker around audit writes to MongoDB.
+ * <p>
+ * After {@code audit.breaker.failure-threshold} consecutive failed or slow writes the breaker
+ * opens and writes are diverted to the {@link AuditSpool}. Once {@code audit.breaker.open-duration-ms}
+ * has passed, one trial write is let through: if it succeeds the breaker closes, otherwise it
+ * opens again. A write slower than {@code audit.breaker.slow-call-ms} counts as a failure.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.backend", havingValue = "mongo", matchIfMissing = true)
+public class AuditCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public AuditCircuitBreaker(MeterRegistry meterRegistry,
+                               @Value("${audit.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${audit.breaker.slow-call-ms:1000}") long slowCallMs,
+                               @Value("${audit.breaker.open-duration-ms:30000}") long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+
+        // 0 = closed, 1 = half-open, 2 = open
+        meterRegistry.gauge("audit.breaker.state", this, breaker -> breaker.state().ordinal());
+    }
+
+    /**
+     * Returns whether a write to MongoDB may be attempted now.
+     */
+    public synchronized boolean allowRequest() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    yield false;
+                }
+                state = CircuitState.HALF_OPEN;
+                trialInFlight = false;
+                yield tryStartTrial();
+            }
+            case HALF_OPEN -> tryStartTrial();
+        };
+    }
+
+    /**
+     * Lets one trial write through while half-open; later callers are refused until it completes.
+     */
+    private boolean tryStartTrial() {
+        if (trialInFlight) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    /**
+     * Gives back a trial granted by {@link #allowRequest()} that ended without a write, so a later
+     * caller can make the trial instead of the breaker staying half-open.
+     */
+    public synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a completed write and how long it took. Slow writes count as failures.
+     */
+    public synchronized void recordSuccess(long elapsedNanos) {
+        if (isSlow(elapsedNanos)) {
+            recordFailure();
+            return;
+        }
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = CircuitState.CLOSED;
+    }
+
+    /**
+     * Records a failed write, opening the breaker if the threshold is reached or a trial write failed.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns whether a write that has been running this long counts as slow.
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos > slowCallNanos;
+    }
+
+    public synchronized CircuitState state() {
+        return state;
+    }
+}
@@ -1,38 +1,78 @@
 package com.example.project_tracker.service;
 
+import com.example.project_tracker.DTO.response.AuditStatsBucketDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
+import com.example.project_tracker.enums.RollupGranularity;
 import com.example.project_tracker.models.AuditLog;
 import com.example.project_tracker.repository.AuditLogRepository;
 import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for logging and retrieving audit actions performed
  * within the application.
  * <p>
  * Each audit entry records the action type, entity involved, actor, and a data snapshot.
- * Logs can be queried by entity type, actor name, or retrieved in full.
+ * Logs can be queried by entity type or actor name, paged through with a cursor,
+ * or streamed in full.
  */
 @Service
+@ConditionalOnProperty(name = "audit.backend", havingValue = "mongo", matchIfMissing = true)
 public class AuditLogService implements AuditLogServiceInterface {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Map<String, String> ENTITY_TYPE_KEYS = new ConcurrentHashMap<>();
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final MongoTemplate mongoTemplate;
+    private final AuditRollupService auditRollupService;
 
     /**
      * Constructs the AuditLogService with the necessary repository.
      *
      * @param auditLogRepository the repository for persisting and retrieving audit logs
+     * @param auditLogWriter     the background writer that persists new audit logs in batches
+     * @param mongoTemplate      template used for maintenance updates on the audit collection
+     * @param auditRollupService service maintaining the time-bucketed audit counters
      */
-    public AuditLogService(AuditLogRepository auditLogRepository) {
+    public AuditLogService(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter,
+                           MongoTemplate mongoTemplate, AuditRollupService auditRollupService) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.mongoTemplate = mongoTemplate;
+        this.auditRollupService = auditRollupService;
     }
 
     /**
      * Logs an action performed on a given entity.
+     * <p>
+     * The log entry is built on the calling thread and handed to the {@link AuditLogWriter},
+     * so the caller does not wait for the MongoDB round-trip.
      *
      * @param actionType   the type of action performed (e.g., CREATE, UPDATE, DELETE)
      * @param entityType   the type of entity the action was performed on (e.g., User, Task)
@@ -41,50 +81,209 @@ public class AuditLogService implements AuditLogServiceInterface {
      * @param dataSnapshot the state or payload of the entity at the time of action
      */
     public void logAction(String actionType, String entityType, String entityId, String actorName, Object dataSnapshot) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("snapshot", dataSnapshot);
+        AuditLog log = buildLog(actionType, entityType, entityId, actorName, dataSnapshot);
+        auditRollupService.increment(actionType, entityType, actorName, log.getTimestamp());
+        auditLogWriter.submit(log);
+    }
+
+    /**
+     * Counts an action in the rollups without writing an audit log for it.
+     * Used for reads that the audit policy sampled out or aggregated.
+     *
+     * @param actionType the type of action performed
+     * @param entityType the type of entity the action was performed on
+     * @param actorName  the name of the user who performed the action
+     */
+    public void countAction(String actionType, String entityType, String actorName) {
+        auditRollupService.increment(actionType, entityType, actorName, Instant.now());
+    }
+
+    /**
+     * Writes a summary log for actions that were already counted through {@link #countAction}.
+     *
+     * @param actionType the type of action summarized
+     * @param entityType the type of entity the actions were performed on
+     * @param actorName  the name of the user who performed the actions
+     * @param summary    the summary payload, such as a count and time window
+     */
+    public void logSummary(String actionType, String entityType, String actorName, Object summary) {
+        auditLogWriter.submit(buildLog(actionType, entityType, null, actorName, summary));
+    }
 
+    /**
+     * Builds an audit entry stamped with the current time. Shared with {@link LocalAuditLogService}.
+     * <p>
+     * The payload is a one-entry immutable map, and entity types come from {@code @Auditable}
+     * constants, so their lookup keys are lower-cased once and reused.
+     */
+    static AuditLog buildLog(String actionType, String entityType, String entityId, String actorName, Object dataSnapshot) {
         AuditLog log = new AuditLog();
         log.setActionType(actionType);
         log.setEntityType(entityType);
         log.setEntityId(entityId);
         log.setActorName(actorName);
+        log.setEntityTypeKey(entityType != null ? ENTITY_TYPE_KEYS.computeIfAbsent(entityType, AuditLogService::normalize) : null);
+        log.setActorNameKey(normalize(actorName));
         log.setTimestamp(Instant.now());
-        log.setPayload(payload);
-
-        auditLogRepository.save(log);
+        log.setPayload(Collections.singletonMap("snapshot", dataSnapshot));
+        return log;
     }
 
     /**
-     * Retrieves all audit logs filtered by a specific entity type.
+     * Retrieves audit logs for a specific entity type, newest first.
+     * <p>
+     * The match is case-insensitive and served by the (entityTypeKey, timestamp) index.
      *
      * @param entityType the type of entity to filter logs by (e.g., Task, Project)
+     * @param from       inclusive lower bound on the timestamp, or {@code null} for no lower bound
+     * @param to         exclusive upper bound on the timestamp, or {@code null} for no upper bound
      * @return a list of matching audit logs
      */
-    public List<AuditLog> getLogsByEntityType(String entityType) {
-        return auditLogRepository.findAll().stream()
-                .filter(log -> log.getEntityType().equalsIgnoreCase(entityType))
-                .toList();
+    public List<AuditLog> getLogsByEntityType(String entityType, Instant from, Instant to) {
+        return auditLogRepository.findByEntityTypeKeyInRange(normalize(entityType), lowerBound(from), upperBound(to));
     }
 
     /**
-     * Retrieves all audit logs filtered by the actor's name.
+     * Retrieves audit logs created by a specific actor, newest first.
+     * <p>
+     * The match is case-insensitive and served by the (actorNameKey, timestamp) index.
      *
      * @param actorName the name of the actor to filter logs by
+     * @param from      inclusive lower bound on the timestamp, or {@code null} for no lower bound
+     * @param to        exclusive upper bound on the timestamp, or {@code null} for no upper bound
      * @return a list of audit logs created by the given actor
      */
-    public List<AuditLog> getLogsByActorName(String actorName) {
-        return auditLogRepository.findAll().stream()
-                .filter(log -> log.getActorName().equalsIgnoreCase(actorName))
-                .toList();
+    public List<AuditLog> getLogsByActorName(String actorName, Instant from, Instant to) {
+        return auditLogRepository.findByActorNameKeyInRange(normalize(actorName), lowerBound(from), upperBound(to));
+    }
+
+    /**
+     * Retrieves one page of audit logs, newest first, using keyset pagination on (timestamp, id).
+     * <p>
+     * Each page is a single indexed range query, so the cost does not grow with how deep
+     * the client has paged.
+     *
+     * @param cursor the continuation token from the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of logs to return, capped at {@value #MAX_PAGE_SIZE}
+     * @return the page of logs and the token for the next page
+     * @throws IllegalArgumentException if the cursor is not a valid token
+     */
+    public CursorPageDTO<AuditLog> getLogsPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(pageSize + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(afterCursor(cursor));
+        }
+
+        List<AuditLog> logs = mongoTemplate.find(query, AuditLog.class);
+        if (logs.size() <= pageSize) {
+            return new CursorPageDTO<>(logs, null);
+        }
+
+        List<AuditLog> page = logs.subList(0, pageSize);
+        return new CursorPageDTO<>(page, encodeCursor(page.get(pageSize - 1)));
     }
 
     /**
-     * Retrieves all audit logs without any filters.
+     * Streams every audit log, newest first, from a server-side MongoDB cursor.
+     * <p>
+     * Documents are handed to the consumer one at a time as the driver fetches them,
+     * so memory use does not depend on the size of the collection.
      *
-     * @return a complete list of audit logs
+     * @param consumer receives each audit log in order
      */
-    public List<AuditLog> getAllLogs() {
-        return auditLogRepository.findAll();
+    public void streamAllLogs(Consumer<AuditLog> consumer) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "id")))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        try (Stream<AuditLog> logs = mongoTemplate.stream(query, AuditLog.class)) {
+            logs.forEach(consumer);
+        }
+    }
+
+    /**
+     * Builds a histogram of audit events from the pre-aggregated rollups, without reading raw audit logs.
+     *
+     * @param granularity the bucket size
+     * @param from        inclusive lower bound, defaults to 24 hours ago
+     * @param to          exclusive upper bound, defaults to now
+     * @param entityType  optional filter on entity type
+     * @param actionType  optional filter on action type
+     * @param actorName   optional filter on actor
+     * @param groupBy     dimensions to break the counts down by, or {@code null} for totals per bucket
+     * @return the histogram buckets, oldest first
+     */
+    public List<AuditStatsBucketDTO> getStats(RollupGranularity granularity, Instant from, Instant to,
+                                              String entityType, String actionType, String actorName,
+                                              Set<String> groupBy) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(1, ChronoUnit.DAYS);
+        return auditRollupService.getStats(granularity, start, end, entityType, actionType, actorName,
+                groupBy != null ? groupBy : Set.of());
+    }
+
+    /**
+     * Fills in the normalized lookup keys on audit logs written before they existed,
+     * so older entries are still found by the indexed queries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLookupKeys() {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("entityTypeKey").exists(false)),
+                AggregationUpdate.update()
+                        .set("entityTypeKey").toValue(StringOperators.valueOf("entityType").toLower())
+                        .set("actorNameKey").toValue(StringOperators.valueOf("actorName").toLower()),
+                AuditLog.class
+        );
+    }
+
+    private static Criteria afterCursor(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int separator = decoded.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        Instant timestamp;
+        try {
+            timestamp = Instant.ofEpochMilli(Long.parseLong(decoded.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String id = decoded.substring(separator + 1);
+        if (!ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where("timestamp").lt(timestamp),
+                Criteria.where("timestamp").is(timestamp).and("id").lt(new ObjectId(id))
+        );
+    }
+
+    private static String encodeCursor(AuditLog last) {
+        String raw = last.getTimestamp().toEpochMilli() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Instant lowerBound(Instant from) {
+        return from != null ? from : Instant.EPOCH;
+    }
+
+    private static Instant upperBound(Instant to) {
+        return to != null ? to : Instant.now().plusSeconds(1);
     }
 }
@@ -0,0 +1,319 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.AuditOverflowPolicy;
+import com.example.project_tracker.enums.CircuitState;
+import com.example.project_tracker.models.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background writer that moves audit events off the request thread.
+ * <p>
+ * Events are put on a bounded queue and a single daemon thread drains them into
+ * {@code insertMany} bulk writes. A batch is flushed when it reaches
+ * {@code audit.writer.max-batch-size} events or when its oldest event is
+ * {@code audit.writer.max-batch-age-ms} old, whichever comes first.
+ * <p>
+ * What happens when the queue is full is controlled by {@link AuditOverflowPolicy}.
+ * <p>
+ * Writes go through an {@link AuditCircuitBreaker}. While it is open, or while older events are
+ * still waiting in the {@link AuditSpool}, batches are appended to the spool instead, which keeps
+ * them in order. The spool is replayed into MongoDB a few batches at a time once the breaker lets
+ * writes through again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "audit.backend", havingValue = "mongo", matchIfMissing = true)
+public class AuditLogWriter {
+
+    private static final int REPLAY_BATCHES_PER_PASS = 10;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditSpool auditSpool;
+    private final AuditCircuitBreaker circuitBreaker;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int maxBatchSize;
+    private final long maxBatchAgeNanos;
+    private final BlockingQueue<AuditLog> queue;
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Counter droppedEvents;
+    private final Counter spilledEvents;
+    private final Counter failedEvents;
+    private final Counter replayedEvents;
+
+    // Events per second replayed by the last replay pass, zero when idle
+    private volatile double replayRate;
+    // System.nanoTime() when the running insert started, or 0 when no insert is running
+    private volatile long insertStartedAt;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(MongoTemplate mongoTemplate,
+                          AuditSpool auditSpool,
+                          AuditCircuitBreaker circuitBreaker,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.writer.max-batch-size:500}") int maxBatchSize,
+                          @Value("${audit.writer.max-batch-age-ms:200}") long maxBatchAgeMs,
+                          @Value("${audit.writer.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy) {
+        this.mongoTemplate = mongoTemplate;
+        this.auditSpool = auditSpool;
+        this.circuitBreaker = circuitBreaker;
+        this.overflowPolicy = overflowPolicy;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchAgeMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        meterRegistry.gauge("audit.queue.depth", queue, BlockingQueue::size);
+        this.batchSize = DistributionSummary.builder("audit.batch.size").register(meterRegistry);
+        this.flushLatency = Timer.builder("audit.flush.latency").register(meterRegistry);
+        this.droppedEvents = meterRegistry.counter("audit.events.dropped");
+        this.spilledEvents = meterRegistry.counter("audit.events.spilled");
+        this.failedEvents = meterRegistry.counter("audit.events.failed");
+        this.replayedEvents = meterRegistry.counter("audit.spool.replayed");
+        meterRegistry.gauge("audit.spool.size", auditSpool, AuditSpool::pendingBytes);
+        meterRegistry.gauge("audit.spool.replay.rate", this, writer -> writer.replayRate);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting new work and flushes whatever is still queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues an audit event for asynchronous persistence.
+     * <p>
+     * The event must already be fully built; nothing is read from the caller's
+     * thread-local state (such as the security context) after this call.
+     *
+     * @param log the audit event to persist
+     */
+    public void submit(AuditLog log) {
+        if (queue.offer(log)) {
+            return;
+        }
+        if (circuitBreaker.state() != CircuitState.CLOSED || insertStalled()) {
+            // MongoDB is the reason the queue is full, so don't make the caller wait for it
+            spool(List.of(log));
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> enqueueBlocking(log);
+            case DROP_READS -> {
+                if (isRead(log)) {
+                    droppedEvents.increment();
+                } else if (evictQueuedRead() && queue.offer(log)) {
+                    return;
+                } else {
+                    enqueueBlocking(log);
+                }
+            }
+            case SPILL -> spool(List.of(log));
+        }
+    }
+
+    private boolean insertStalled() {
+        long startedAt = insertStartedAt;
+        return startedAt != 0 && circuitBreaker.isSlow(System.nanoTime() - startedAt);
+    }
+
+    private void enqueueBlocking(AuditLog log) {
+        try {
+            queue.put(log);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedEvents.increment();
+        }
+    }
+
+    private boolean isRead(AuditLog log) {
+        return "GET".equals(log.getActionType());
+    }
+
+    /**
+     * Removes the oldest queued GET event, if any, to make room for a mutation.
+     */
+    private boolean evictQueuedRead() {
+        Iterator<AuditLog> it = queue.iterator();
+        while (it.hasNext()) {
+            if (isRead(it.next())) {
+                it.remove();
+                droppedEvents.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(maxBatchAgeNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpool();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxBatchAgeNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+                replaySpool();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        if (auditSpool.hasPending() || !circuitBreaker.allowRequest()) {
+            spool(batch);
+            return;
+        }
+        try {
+            insertBatch(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} audit events, spooling them", batch.size(), e);
+            spool(batch);
+        }
+    }
+
+    private void insertBatch(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        insertStartedAt = start;
+        try {
+            flushLatency.record(() -> mongoTemplate.insert(batch, AuditLog.class));
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            throw e;
+        } finally {
+            insertStartedAt = 0;
+        }
+        circuitBreaker.recordSuccess(System.nanoTime() - start);
+        batchSize.record(batch.size());
+    }
+
+    /**
+     * Inserts a replayed batch. A batch can be replayed twice after a crash, so events whose
+     * id is already stored are skipped instead of failing the batch.
+     */
+    private void insertReplayedBatch(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        insertStartedAt = start;
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditLog.class).insert(batch).execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                circuitBreaker.recordFailure();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            throw e;
+        } finally {
+            insertStartedAt = 0;
+        }
+        circuitBreaker.recordSuccess(System.nanoTime() - start);
+    }
+
+    /**
+     * Appends events to the spool. Ids are assigned first so a replay can be retried safely.
+     */
+    private void spool(List<AuditLog> logs) {
+        for (AuditLog log : logs) {
+            if (log.getId() == null) {
+                log.setId(new ObjectId().toHexString());
+            }
+        }
+        try {
+            auditSpool.append(logs);
+            spilledEvents.increment(logs.size());
+        } catch (RuntimeException e) {
+            failedEvents.increment(logs.size());
+            log.error("Failed to spool {} audit events", logs.size(), e);
+        }
+    }
+
+    private void replaySpool() {
+        if (!auditSpool.hasPending() || !circuitBreaker.allowRequest()) {
+            replayRate = 0;
+            return;
+        }
+        long start = System.nanoTime();
+        int replayed = 0;
+        // Set once a batch reaches MongoDB, which records the outcome on the breaker
+        AtomicBoolean written = new AtomicBoolean();
+        try {
+            replayed = auditSpool.replay(maxBatchSize, REPLAY_BATCHES_PER_PASS, batch -> {
+                written.set(true);
+                insertReplayedBatch(batch);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Audit spool replay failed, will retry", e);
+        } finally {
+            // Nothing to write, or the spool failed first: free the trial the breaker may have granted
+            if (!written.get()) {
+                circuitBreaker.releaseTrial();
+            }
+        }
+        replayedEvents.increment(replayed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        replayRate = seconds > 0 ? replayed / seconds : 0;
+    }
+}
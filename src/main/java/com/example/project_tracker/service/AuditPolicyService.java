@@ -0,0 +1,89 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.enums.AuditPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether an audited call is recorded, sampled out, aggregated or ignored.
+ * <p>
+ * The policy for a read comes from {@code audit.policy.<entityType>.<actionType>} and
+ * {@code audit.sample-rate.<entityType>.<actionType>} when set, otherwise from the
+ * {@link Auditable} annotation. Anything that is not a GET is always recorded.
+ */
+@Service
+public class AuditPolicyService {
+
+    public enum Decision {
+        RECORD,
+        AGGREGATE,
+        SUPPRESS
+    }
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ResolvedPolicy> resolved = new ConcurrentHashMap<>();
+
+    public AuditPolicyService(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Decides what to do with one audited call.
+     *
+     * @param auditable the annotation on the audited method
+     * @return whether to record it, add it to the aggregate counters, or drop it
+     */
+    public Decision decide(Auditable auditable) {
+        if (!"GET".equals(auditable.actionType())) {
+            return Decision.RECORD;
+        }
+
+        ResolvedPolicy policy = resolved.computeIfAbsent(
+                auditable.entityType() + "." + auditable.actionType(),
+                key -> resolve(key, auditable));
+
+        return switch (policy.policy()) {
+            case ALWAYS -> Decision.RECORD;
+            case SAMPLED -> {
+                if (ThreadLocalRandom.current().nextDouble() < policy.sampleRate()) {
+                    meterRegistry.counter("audit.policy.sampled",
+                            "entityType", auditable.entityType(), "actionType", auditable.actionType()).increment();
+                    yield Decision.RECORD;
+                }
+                suppressed(auditable, policy.policy());
+                yield Decision.SUPPRESS;
+            }
+            case AGGREGATED -> {
+                suppressed(auditable, policy.policy());
+                yield Decision.AGGREGATE;
+            }
+            case OFF -> {
+                suppressed(auditable, policy.policy());
+                yield Decision.SUPPRESS;
+            }
+        };
+    }
+
+    private void suppressed(Auditable auditable, AuditPolicy policy) {
+        meterRegistry.counter("audit.policy.suppressed",
+                "entityType", auditable.entityType(),
+                "actionType", auditable.actionType(),
+                "policy", policy.name()).increment();
+    }
+
+    private ResolvedPolicy resolve(String key, Auditable auditable) {
+        AuditPolicy policy = environment.getProperty("audit.policy." + key, AuditPolicy.class, auditable.policy());
+        double sampleRate = environment.getProperty("audit.sample-rate." + key, Double.class, auditable.sampleRate());
+        return new ResolvedPolicy(policy, sampleRate);
+    }
+
+    private record ResolvedPolicy(AuditPolicy policy, double sampleRate) {}
+}
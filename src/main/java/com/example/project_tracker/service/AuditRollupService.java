@@ -0,0 +1,177 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.AuditStatsBucketDTO;
+import com.example.project_tracker.enums.RollupGranularity;
+import com.example.project_tracker.models.AuditRollup;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains minute and hour rollups of audit events in the {@code audit_rollups} collection
+ * and answers histogram queries from them.
+ * <p>
+ * Counts are accumulated in memory and pushed every {@code audit.rollup.flush-interval-ms}
+ * as one unordered bulk of {@code $inc} upserts, so logging an event never waits on MongoDB.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "audit.backend", havingValue = "mongo", matchIfMissing = true)
+public class AuditRollupService {
+
+    private static final Set<String> GROUPABLE_FIELDS = Set.of("entityType", "actionType", "actorName");
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration minuteRetention;
+    private final Map<RollupKey, Long> pending = new ConcurrentHashMap<>();
+
+    public AuditRollupService(MongoTemplate mongoTemplate,
+                              @Value("${audit.rollup.minute-retention-days:7}") long minuteRetentionDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.minuteRetention = Duration.ofDays(minuteRetentionDays);
+    }
+
+    /**
+     * Counts one audit event in its minute and hour buckets.
+     */
+    public void increment(String actionType, String entityType, String actorName, Instant timestamp) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            RollupKey key = new RollupKey(granularity, granularity.bucketStart(timestamp), entityType, actionType, actorName);
+            pending.merge(key, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Pushes the pending counts to MongoDB. If some upserts of the bulk fail, only their counts are
+     * put back, since the others were applied; if the bulk fails as a whole, every count is put back.
+     */
+    @Scheduled(fixedDelayString = "${audit.rollup.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<RollupKey, Long> drained = new HashMap<>();
+        for (RollupKey key : pending.keySet()) {
+            Long count = pending.remove(key);
+            if (count != null) {
+                drained.put(key, count);
+            }
+        }
+
+        List<RollupKey> keys = new ArrayList<>(drained.keySet());
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditRollup.class);
+        keys.forEach(key -> {
+            Query query = new Query(Criteria.where("granularity").is(key.granularity())
+                    .and("bucketStart").is(key.bucketStart())
+                    .and("entityType").is(key.entityType())
+                    .and("actionType").is(key.actionType())
+                    .and("actorName").is(key.actorName()));
+            Update update = new Update().inc("count", drained.get(key));
+            if (key.granularity() == RollupGranularity.MINUTE) {
+                update.setOnInsert("expireAt", key.bucketStart().plus(minuteRetention));
+            }
+            ops.upsert(query, update);
+        });
+
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            // The bulk is unordered, so every upsert not listed as failed was applied
+            for (BulkWriteError error : e.getErrors()) {
+                RollupKey key = keys.get(error.getIndex());
+                pending.merge(key, drained.get(key), Long::sum);
+            }
+            log.warn("Failed to flush {} of {} audit rollups, will retry", e.getErrors().size(), keys.size(), e);
+        } catch (RuntimeException e) {
+            drained.forEach((key, count) -> pending.merge(key, count, Long::sum));
+            log.warn("Failed to flush {} audit rollups, will retry", drained.size(), e);
+        }
+    }
+
+    /**
+     * Builds a histogram of audit events from the rollups.
+     *
+     * @param granularity the bucket size
+     * @param from        inclusive lower bound
+     * @param to          exclusive upper bound
+     * @param entityType  optional filter on entity type
+     * @param actionType  optional filter on action type
+     * @param actorName   optional filter on actor
+     * @param groupBy     dimensions to keep in the output; the others are summed over
+     * @return one bucket per time slot and combination of grouped dimensions, oldest first
+     * @throws IllegalArgumentException if {@code groupBy} contains an unknown dimension
+     */
+    public List<AuditStatsBucketDTO> getStats(RollupGranularity granularity, Instant from, Instant to,
+                                              String entityType, String actionType, String actorName,
+                                              Set<String> groupBy) {
+        for (String field : groupBy) {
+            if (!GROUPABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Invalid groupBy field: " + field);
+            }
+        }
+
+        Criteria criteria = Criteria.where("granularity").is(granularity)
+                .and("bucketStart").gte(granularity.bucketStart(from)).lt(to);
+        if (entityType != null) {
+            criteria.and("entityType").is(entityType);
+        }
+        if (actionType != null) {
+            criteria.and("actionType").is(actionType);
+        }
+        if (actorName != null) {
+            criteria.and("actorName").is(actorName);
+        }
+
+        List<String> keys = new ArrayList<>();
+        keys.add("bucketStart");
+        keys.addAll(groupBy);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group(keys.toArray(String[]::new)).sum("count").as("count"),
+                Aggregation.sort(Sort.Direction.ASC, keys.toArray(String[]::new))
+        );
+
+        List<AuditStatsBucketDTO> buckets = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, AuditRollup.class, Document.class)) {
+            Object id = row.get("_id");
+            Document dims = id instanceof Document document ? document : new Document("bucketStart", id);
+            buckets.add(new AuditStatsBucketDTO(
+                    ((Date) dims.get("bucketStart")).toInstant(),
+                    dims.getString("entityType"),
+                    dims.getString("actionType"),
+                    dims.getString("actorName"),
+                    ((Number) row.get("count")).longValue()
+            ));
+        }
+        return buckets;
+    }
+
+    private record RollupKey(RollupGranularity granularity, Instant bucketStart,
+                             String entityType, String actionType, String actorName) {}
+}
@@ -0,0 +1,285 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.models.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Crash-safe local file for audit events that could not be written to MongoDB.
+ * <p>
+ * Each event is stored as {@code [int length][int crc32c][json]} and every append is forced
+ * to disk before it returns. Replay moves the spool aside first, so new events can keep
+ * arriving while the old ones are written back, and records how far it got in an offset
+ * file after each batch. After a crash, replay resumes from that offset; a record torn by
+ * the crash fails its checksum and is dropped along with anything after it. A record that passes
+ * its checksum but cannot be parsed is moved to a dead-letter file next to the spool and skipped,
+ * so it cannot hold up the records behind it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "audit.backend", havingValue = "mongo", matchIfMissing = true)
+public class AuditSpool {
+
+    private static final int HEADER_BYTES = 8;
+
+    private final Path spoolFile;
+    private final Path replayFile;
+    private final Path offsetFile;
+    private final Path deadLetterFile;
+    private final ObjectMapper objectMapper;
+    private final Counter undecodableRecords;
+
+    private FileChannel channel;
+    private volatile boolean pending;
+
+    public AuditSpool(@Value("${audit.writer.spool-path:audit-spool/audit-spool.bin}") String spoolPath,
+                      ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.spoolFile = Paths.get(spoolPath);
+        this.replayFile = Paths.get(spoolPath + ".replay");
+        this.offsetFile = Paths.get(spoolPath + ".offset");
+        this.deadLetterFile = Paths.get(spoolPath + ".dead");
+        this.objectMapper = objectMapper;
+        this.undecodableRecords = meterRegistry.counter("audit.spool.records.undecodable");
+        this.pending = Files.exists(replayFile) || Files.exists(spoolFile);
+    }
+
+    /**
+     * Appends the given events to the spool file and forces them to disk.
+     *
+     * @param logs the events to persist locally
+     */
+    public synchronized void append(List<AuditLog> logs) {
+        try {
+            ByteBuffer[] records = new ByteBuffer[logs.size()];
+            long remaining = 0;
+            for (int i = 0; i < records.length; i++) {
+                records[i] = frame(objectMapper.writeValueAsBytes(logs.get(i)));
+                remaining += records[i].remaining();
+            }
+            FileChannel out = openChannel();
+            while (remaining > 0) {
+                remaining -= out.write(records);
+            }
+            out.force(false);
+            pending = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool audit events", e);
+        }
+    }
+
+    /**
+     * Returns whether there are spooled events waiting to be replayed.
+     */
+    public boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * Returns the number of spooled bytes not yet replayed.
+     */
+    public synchronized long pendingBytes() {
+        try {
+            long bytes = Files.exists(spoolFile) ? Files.size(spoolFile) : 0;
+            if (Files.exists(replayFile)) {
+                bytes += Files.size(replayFile) - readOffset();
+            }
+            return bytes;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Hands spooled events to the sink in batches, oldest first.
+     * <p>
+     * The replay offset is saved after every batch the sink accepts, so a batch is handed
+     * over twice only if the process dies between the sink returning and the offset being
+     * saved. If the sink throws, replay stops and resumes from the same batch on the next call.
+     *
+     * @param batchSize  the maximum number of events per batch
+     * @param maxBatches the maximum number of batches to replay in this call
+     * @param sink       receives each batch, typically a bulk insert
+     * @return the number of events replayed
+     */
+    public int replay(int batchSize, int maxBatches, Consumer<List<AuditLog>> sink) {
+        synchronized (this) {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spoolFile)) {
+                    pending = false;
+                    return 0;
+                }
+                try {
+                    closeChannel();
+                    Files.move(spoolFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                    Files.deleteIfExists(offsetFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to rotate audit spool", e);
+                }
+            }
+        }
+
+        int replayed = 0;
+        long offset = readOffset();
+        try (InputStream in = Files.newInputStream(replayFile)) {
+            in.skipNBytes(offset);
+            DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+            for (int batches = 0; batches < maxBatches; batches++) {
+                List<AuditLog> batch = new ArrayList<>(batchSize);
+                long batchEnd = offset;
+                boolean exhausted = false;
+                while (batch.size() < batchSize) {
+                    byte[] body = readRecord(data);
+                    if (body == null) {
+                        exhausted = true;
+                        break;
+                    }
+                    batchEnd += HEADER_BYTES + body.length;
+                    AuditLog decoded = decode(body);
+                    if (decoded != null) {
+                        batch.add(decoded);
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    sink.accept(batch);
+                    replayed += batch.size();
+                }
+                if (batchEnd > offset) {
+                    offset = batchEnd;
+                    writeOffset(offset);
+                }
+                if (exhausted) {
+                    finishReplay();
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay audit spool", e);
+        }
+        return replayed;
+    }
+
+    /**
+     * Parses a record body, or moves it to the dead-letter file and returns {@code null} if it cannot be parsed.
+     */
+    private AuditLog decode(byte[] body) throws IOException {
+        try {
+            return objectMapper.readValue(body, AuditLog.class);
+        } catch (IOException e) {
+            undecodableRecords.increment();
+            log.error("Moving an undecodable audit record to {}", deadLetterFile, e);
+            try (FileChannel out = FileChannel.open(deadLetterFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer record = frame(body);
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+                out.force(false);
+            }
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closeChannel();
+    }
+
+    private synchronized void finishReplay() throws IOException {
+        Files.deleteIfExists(replayFile);
+        Files.deleteIfExists(offsetFile);
+        pending = Files.exists(spoolFile);
+    }
+
+    /**
+     * Reads the next record, or returns {@code null} at the end of the file or at a torn record.
+     */
+    private byte[] readRecord(DataInputStream data) throws IOException {
+        int length;
+        int checksum;
+        try {
+            length = data.readInt();
+            checksum = data.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        byte[] body = length > 0 ? data.readNBytes(length) : new byte[0];
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        if (body.length == 0 || body.length < length || (int) crc.getValue() != checksum) {
+            log.warn("Dropping torn record at the end of audit spool {}", replayFile);
+            return null;
+        }
+        return body;
+    }
+
+    private static ByteBuffer frame(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        record.putInt(body.length).putInt((int) crc.getValue()).put(body).flip();
+        return record;
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            Path parent = spoolFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(spoolFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private long readOffset() {
+        try {
+            return Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void writeOffset(long offset) throws IOException {
+        Path temp = Paths.get(offsetFile + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.UTF_8)));
+            out.force(false);
+        }
+        Files.move(temp, offsetFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
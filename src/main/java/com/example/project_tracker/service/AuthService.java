@@ -1,13 +1,30 @@
 package com.example.project_tracker.service;
 
 import com.example.project_tracker.DTO.request.LoginRequestDTO;
+import com.example.project_tracker.DTO.request.RefreshTokenRequestDTO;
 import com.example.project_tracker.DTO.response.LoginResponseDTO;
 import com.example.project_tracker.aspects.LoginAudit;
+import com.example.project_tracker.exceptions.InvalidRefreshTokenException;
+import com.example.project_tracker.exceptions.TooManyLoginAttemptsException;
+import com.example.project_tracker.models.User;
+import com.example.project_tracker.security.CustomUserDetails;
 import com.example.project_tracker.security.JwtUtils;
+import com.example.project_tracker.security.LoginAttemptTracker;
+import com.example.project_tracker.security.RevokedTokenRegistry;
+import com.example.project_tracker.security.TokenEpochRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service class responsible for handling user authentication logic.
  * <p>
@@ -15,41 +32,144 @@ import org.springframework.stereotype.Service;
  * and generates JWT tokens for successful logins.
  * <p>
  * The {@link LoginAudit} annotation is used to log login attempts.
+ * <p>
+ * Attempts for an email or client IP with too many recent failures are rejected by the
+ * {@link LoginAttemptTracker} before the password hash is checked. Each rejected attempt adds
+ * the mean hash check time to {@code auth.login.cpu.saved} as an estimate of the CPU it saved.
+ * <p>
+ * A successful login also returns a refresh token, so clients renew their short-lived access
+ * tokens through {@link #refresh} without another password check.
  */
 @Service
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final RefreshTokenService refreshTokenService;
+    private final Timer verifyTimer;
+    private final Counter cpuSavedSeconds;
 
     /**
      * Constructs the AuthService with required dependencies.
      *
      * @param authenticationManager Spring Security authentication manager
      * @param jwtUtils              utility for generating JWT tokens
+     * @param loginAttemptTracker   tracker of recent failed logins per email and IP
+     * @param tokenEpochRegistry    registry that stateless tokens are checked against
+     * @param revokedTokenRegistry  deny-list that logged out and revoked tokens are added to
+     * @param refreshTokenService   service issuing and rotating refresh tokens
+     * @param meterRegistry         registry for the credential check metrics
      */
-    public AuthService(AuthenticationManager authenticationManager, JwtUtils jwtUtils) {
+    public AuthService(AuthenticationManager authenticationManager, JwtUtils jwtUtils,
+                       LoginAttemptTracker loginAttemptTracker, TokenEpochRegistry tokenEpochRegistry,
+                       RevokedTokenRegistry revokedTokenRegistry, RefreshTokenService refreshTokenService,
+                       MeterRegistry meterRegistry) {
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.refreshTokenService = refreshTokenService;
+        this.verifyTimer = meterRegistry.timer("auth.login.verify");
+        this.cpuSavedSeconds = meterRegistry.counter("auth.login.cpu.saved");
     }
 
     /**
      * Authenticates the user using the provided credentials and returns a JWT token.
      *
      * @param requestDTO the login request containing email and password
+     * @param clientIp   the address the request came from
      * @return a response containing the generated JWT token
-     * @throws BadCredentialsException if authentication fails due to invalid credentials
+     * @throws BadCredentialsException       if authentication fails due to invalid credentials
+     * @throws TooManyLoginAttemptsException if the email or IP is currently throttled
      */
     @LoginAudit
-    public LoginResponseDTO login(LoginRequestDTO requestDTO) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        requestDTO.getEmail(),
-                        requestDTO.getPassword()
-                )
-        );
-
-        String token = jwtUtils.generateToken(requestDTO.getEmail());
-        return new LoginResponseDTO(token);
+    public LoginResponseDTO login(LoginRequestDTO requestDTO, String clientIp) {
+        long retryAfter = loginAttemptTracker.retryAfterSeconds(requestDTO.getEmail(), clientIp);
+        if (retryAfter > 0) {
+            cpuSavedSeconds.increment(verifyTimer.mean(TimeUnit.SECONDS));
+            throw new TooManyLoginAttemptsException("Too many failed login attempts, try again later", retryAfter);
+        }
+
+        long start = System.nanoTime();
+        Authentication auth;
+        try {
+            auth = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            requestDTO.getEmail(),
+                            requestDTO.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException ex) {
+            loginAttemptTracker.recordFailure(requestDTO.getEmail(), clientIp);
+            throw ex;
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        User user = ((CustomUserDetails) auth.getPrincipal()).getUser();
+        tokenEpochRegistry.update(user.getId(), user.getTokenEpoch(), user.getRoles());
+        String token = jwtUtils.generateToken(user);
+        return new LoginResponseDTO(token, refreshTokenService.issue(user));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * No password check is involved.
+     *
+     * @param requestDTO the request containing the refresh token
+     * @return a response containing the new tokens
+     * @throws InvalidRefreshTokenException if the refresh token cannot be used
+     */
+    public LoginResponseDTO refresh(RefreshTokenRequestDTO requestDTO) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(requestDTO.getRefreshToken());
+        User user = rotation.user();
+        tokenEpochRegistry.update(user.getId(), user.getTokenEpoch(), user.getRoles());
+        return new LoginResponseDTO(jwtUtils.generateToken(user), rotation.refreshToken());
+    }
+
+    /**
+     * Logs the caller out by revoking the token they authenticated with and, if given,
+     * the refresh token family it was issued with.
+     *
+     * @param token        the caller's JWT token
+     * @param refreshToken the caller's refresh token, or {@code null}
+     * @throws IllegalArgumentException if the token has no ID and cannot be revoked
+     */
+    public void logout(String token, String refreshToken) {
+        revoke(jwtUtils.verify(token));
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            User user = ((CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUser();
+            refreshTokenService.revoke(refreshToken, user.getId());
+        }
+    }
+
+    /**
+     * Revokes another user's token, for example one that has leaked. Expired tokens are ignored,
+     * since they are already rejected.
+     *
+     * @param token the JWT token to revoke
+     * @throws IllegalArgumentException if the token is invalid or has no ID
+     */
+    public void revokeToken(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtils.verify(token);
+        } catch (ExpiredJwtException e) {
+            return;
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+        revoke(claims);
+    }
+
+    private void revoke(Claims claims) {
+        if (claims.getId() == null) {
+            throw new IllegalArgumentException("Token cannot be revoked");
+        }
+        revokedTokenRegistry.revoke(claims.getId(), claims.getExpiration().toInstant());
     }
 }
@@ -0,0 +1,193 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.AuditStatsBucketDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
+import com.example.project_tracker.enums.RollupGranularity;
+import com.example.project_tracker.models.AuditLog;
+import com.example.project_tracker.repository.AuditSegmentStore;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Audit log service backed by local segment files instead of MongoDB, enabled with
+ * {@code audit.backend=local}.
+ * <p>
+ * Writes go to the {@link AuditSegmentStore}. Queries scan the store newest first and use
+ * its sparse time index to skip data outside the requested range. Histograms are computed
+ * from the stored records, so reads that the audit policy sampled out without writing a
+ * log are not counted.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.backend", havingValue = "local")
+public class LocalAuditLogService implements AuditLogServiceInterface {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Set<String> GROUPABLE_FIELDS = Set.of("entityType", "actionType", "actorName");
+
+    private final AuditSegmentStore auditSegmentStore;
+
+    public LocalAuditLogService(AuditSegmentStore auditSegmentStore) {
+        this.auditSegmentStore = auditSegmentStore;
+    }
+
+    /**
+     * Appends an audit entry to the active segment. The caller does not wait for the group commit.
+     */
+    public void logAction(String actionType, String entityType, String entityId, String actorName, Object dataSnapshot) {
+        append(AuditLogService.buildLog(actionType, entityType, entityId, actorName, dataSnapshot));
+    }
+
+    /**
+     * Does nothing: this backend keeps no rollups, and histograms are computed from stored records.
+     */
+    public void countAction(String actionType, String entityType, String actorName) {
+    }
+
+    public void logSummary(String actionType, String entityType, String actorName, Object summary) {
+        append(AuditLogService.buildLog(actionType, entityType, null, actorName, summary));
+    }
+
+    private void append(AuditLog log) {
+        log.setId(new ObjectId(Date.from(log.getTimestamp())).toHexString());
+        auditSegmentStore.append(log);
+    }
+
+    public List<AuditLog> getLogsByEntityType(String entityType, Instant from, Instant to) {
+        String key = AuditLogService.normalize(entityType);
+        return find(from, to, log -> key != null && key.equals(log.getEntityTypeKey()));
+    }
+
+    public List<AuditLog> getLogsByActorName(String actorName, Instant from, Instant to) {
+        String key = AuditLogService.normalize(actorName);
+        return find(from, to, log -> key != null && key.equals(log.getActorNameKey()));
+    }
+
+    private List<AuditLog> find(Instant from, Instant to, Predicate<AuditLog> filter) {
+        List<AuditLog> logs = new ArrayList<>();
+        auditSegmentStore.scan(lowerBound(from), upperBound(to), null, filter, (log, position) -> logs.add(log));
+        return logs;
+    }
+
+    /**
+     * Retrieves one page of audit logs, newest first. The cursor is the position of the last
+     * record returned, so the next page resumes the scan right where this one stopped.
+     *
+     * @throws IllegalArgumentException if the cursor is not a valid token
+     */
+    public CursorPageDTO<AuditLog> getLogsPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        AuditSegmentStore.Position before = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+
+        List<AuditLog> page = new ArrayList<>(pageSize);
+        AuditSegmentStore.Position[] last = new AuditSegmentStore.Position[1];
+        boolean[] hasMore = new boolean[1];
+        auditSegmentStore.scan(Instant.EPOCH, upperBound(null), before, log -> true, (log, position) -> {
+            if (page.size() == pageSize) {
+                hasMore[0] = true;
+                return false;
+            }
+            page.add(log);
+            last[0] = position;
+            return true;
+        });
+
+        return new CursorPageDTO<>(page, hasMore[0] ? encodeCursor(last[0]) : null);
+    }
+
+    public void streamAllLogs(Consumer<AuditLog> consumer) {
+        auditSegmentStore.scan(Instant.EPOCH, upperBound(null), null, log -> true, (log, position) -> {
+            consumer.accept(log);
+            return true;
+        });
+    }
+
+    /**
+     * Builds a histogram of audit events by scanning the stored records in the range.
+     *
+     * @throws IllegalArgumentException if {@code groupBy} contains an unknown dimension
+     */
+    public List<AuditStatsBucketDTO> getStats(RollupGranularity granularity, Instant from, Instant to,
+                                              String entityType, String actionType, String actorName,
+                                              Set<String> groupBy) {
+        Set<String> dimensions = groupBy != null ? groupBy : Set.of();
+        for (String field : dimensions) {
+            if (!GROUPABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Invalid groupBy field: " + field);
+            }
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? granularity.bucketStart(from) : end.minus(1, ChronoUnit.DAYS);
+
+        Predicate<AuditLog> filter = log -> (entityType == null || entityType.equals(log.getEntityType()))
+                && (actionType == null || actionType.equals(log.getActionType()))
+                && (actorName == null || actorName.equals(log.getActorName()));
+
+        Map<StatsKey, Long> counts = new TreeMap<>(StatsKey.ORDER);
+        auditSegmentStore.scan(start, end, null, filter, (log, position) -> {
+            StatsKey key = new StatsKey(
+                    granularity.bucketStart(log.getTimestamp()),
+                    dimensions.contains("entityType") ? log.getEntityType() : null,
+                    dimensions.contains("actionType") ? log.getActionType() : null,
+                    dimensions.contains("actorName") ? log.getActorName() : null);
+            counts.merge(key, 1L, Long::sum);
+            return true;
+        });
+
+        List<AuditStatsBucketDTO> buckets = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> buckets.add(new AuditStatsBucketDTO(
+                key.bucketStart(), key.entityType(), key.actionType(), key.actorName(), count)));
+        return buckets;
+    }
+
+    private static AuditSegmentStore.Position decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new AuditSegmentStore.Position(
+                    Long.parseLong(decoded.substring(0, separator)),
+                    Integer.parseInt(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String encodeCursor(AuditSegmentStore.Position position) {
+        String raw = position.segmentId() + ":" + position.offset();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Instant lowerBound(Instant from) {
+        return from != null ? from : Instant.EPOCH;
+    }
+
+    private static Instant upperBound(Instant to) {
+        return to != null ? to : Instant.now().plusSeconds(1);
+    }
+
+    private record StatsKey(Instant bucketStart, String entityType, String actionType, String actorName) {
+
+        static final Comparator<StatsKey> ORDER = Comparator.comparing(StatsKey::bucketStart)
+                .thenComparing(StatsKey::entityType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(StatsKey::actionType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(StatsKey::actorName, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.repository.TaskRepository;
+import com.example.project_tracker.utils.ReplayingSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of open tasks, that is tasks with a due date that are not {@link TaskStatus#DONE},
+ * ordered by due date.
+ * <p>
+ * The overdue tasks are the head of the index up to today, so a lookup costs O(result) and does not
+ * query MySQL. Tasks become overdue by the date moving past them; no job has to move them.
+ * <p>
+ * {@link TaskService} and {@link TaskBulkService} update the index after their transaction commits.
+ * The index is loaded once the application is ready and then reloaded on a fixed delay, which repairs
+ * changes made outside those services; see {@link ReplayingSnapshot}.
+ */
+@Slf4j
+@Component
+public class OverdueTaskIndex {
+
+    private final TaskRepository taskRepository;
+    private final Counter reconcileDrift;
+
+    private final ReplayingSnapshot<Snapshot> snapshot = new ReplayingSnapshot<>("overdue task index", new Snapshot());
+
+    public OverdueTaskIndex(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.reconcileDrift = meterRegistry.counter("tasks.overdue_index.reconcile.drift");
+        meterRegistry.gauge("tasks.overdue_index.size", this, index -> index.snapshot.current().byId.size());
+    }
+
+    /**
+     * Returns whether the index has been loaded and can answer queries.
+     */
+    public boolean isReady() {
+        return snapshot.isReady();
+    }
+
+    /**
+     * Returns the open tasks due before the given date, earliest first.
+     *
+     * @param today the first date on which a task is not yet overdue
+     * @return the overdue tasks
+     */
+    public List<TaskResponseDTO> overdue(LocalDate today) {
+        return new ArrayList<>(snapshot.current().byDueDate.headMap(new Key(today, Long.MIN_VALUE)).values());
+    }
+
+    /**
+     * Records the current state of a task once the surrounding transaction commits.
+     * Tasks without a due date or marked done are removed from the index.
+     */
+    public void put(TaskResponseDTO task) {
+        snapshot.applyAfterCommit(current -> current.put(task));
+    }
+
+    /**
+     * Removes a deleted task once the surrounding transaction commits.
+     */
+    public void remove(Long taskId) {
+        snapshot.applyAfterCommit(current -> current.remove(taskId));
+    }
+
+    /**
+     * Removes every task of a deleted project once the surrounding transaction commits.
+     */
+    public void removeProject(Long projectId) {
+        snapshot.applyAfterCommit(current -> current.removeProject(projectId));
+    }
+
+    /**
+     * Loads the index from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    /**
+     * Reloads the index from the database and swaps it in, replaying the changes made meanwhile.
+     */
+    @Scheduled(initialDelayString = "${tasks.overdue-index.reconcile-interval-ms:600000}",
+            fixedDelayString = "${tasks.overdue-index.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        snapshot.rebuild(() -> {
+            Snapshot rebuilt = new Snapshot();
+            taskRepository.findOpenDtos(TaskStatus.DONE).forEach(rebuilt::put);
+            return rebuilt;
+        }, (previous, rebuilt) -> {
+            long drift = rebuilt.drift(previous);
+            if (drift > 0) {
+                reconcileDrift.increment(drift);
+                log.info("Overdue task index was out of date for {} tasks", drift);
+            }
+        });
+    }
+
+    private record Key(LocalDate dueDate, long id) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::dueDate).thenComparingLong(Key::id);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * The open tasks ordered by due date, plus the key of each task so it can be found by ID.
+     * Written only under the {@link ReplayingSnapshot} lock; read without locking.
+     */
+    private static final class Snapshot {
+
+        final NavigableMap<Key, TaskResponseDTO> byDueDate = new ConcurrentSkipListMap<>();
+        final Map<Long, Key> byId = new ConcurrentHashMap<>();
+
+        void put(TaskResponseDTO task) {
+            remove(task.getId());
+            if (task.getDueDate() != null && task.getStatus() != TaskStatus.DONE) {
+                Key key = new Key(task.getDueDate(), task.getId());
+                byDueDate.put(key, task);
+                byId.put(task.getId(), key);
+            }
+        }
+
+        void remove(Long taskId) {
+            Key key = byId.remove(taskId);
+            if (key != null) {
+                byDueDate.remove(key);
+            }
+        }
+
+        void removeProject(Long projectId) {
+            List<Long> taskIds = new ArrayList<>();
+            byDueDate.values().forEach(task -> {
+                if (projectId.equals(task.getProjectId())) {
+                    taskIds.add(task.getId());
+                }
+            });
+            taskIds.forEach(this::remove);
+        }
+
+        /**
+         * Counts the tasks whose due date or presence differs between the two snapshots.
+         */
+        long drift(Snapshot other) {
+            long drift = byId.entrySet().stream()
+                    .filter(entry -> !Objects.equals(entry.getValue(), other.byId.get(entry.getKey())))
+                    .count();
+            return drift + other.byId.keySet().stream().filter(id -> !byId.containsKey(id)).count();
+        }
+    }
+}
@@ -3,24 +3,29 @@ package com.example.project_tracker.service;
 import com.example.project_tracker.DTO.request.ProjectRequestDTO;
 import com.example.project_tracker.DTO.response.ProjectResponseDTO;
 import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.aspects.AuditContext;
 import com.example.project_tracker.exceptions.ProjectNotFoundException;
+import com.example.project_tracker.exceptions.UserNotFoundException;
 import com.example.project_tracker.mapper.ProjectMapper;
 import com.example.project_tracker.models.Project;
 import com.example.project_tracker.models.User;
 import com.example.project_tracker.repository.ProjectRepository;
 import com.example.project_tracker.repository.TaskRepository;
+import com.example.project_tracker.repository.UserRepository;
 import com.example.project_tracker.security.CustomUserDetails;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
 import com.example.project_tracker.service.interfaces.ProjectServiceInterface;
+import com.example.project_tracker.utils.ForeignKeyViolations;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service class responsible for managing project-related operations,
@@ -30,13 +35,20 @@ import java.util.stream.Collectors;
  * which are deleted when a project is deleted.
  * <p>
  * Audit logging is applied using the {@link Auditable} annotation.
+ * <p>
+ * List reads select straight into {@link ProjectResponseDTO} in a read-only transaction,
+ * without loading managed entities.
  */
 @Service
 public class ProjectService implements ProjectServiceInterface {
 
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
-    private final AuditLogService auditLogService;
+    private final UserRepository userRepository;
+    private final AuditLogServiceInterface auditLogService;
+    private final OverdueTaskIndex overdueTaskIndex;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCounters taskCounters;
 
     /**
      * Constructs the ProjectService with required dependencies.
@@ -44,11 +56,22 @@ public class ProjectService implements ProjectServiceInterface {
      * @param projectRepository repository for accessing project data
      * @param auditLogService   service for handling audit logging
      * @param taskRepository    repository for managing tasks related to projects
+     * @param userRepository    repository used to reference a project's owner without loading it
+     * @param overdueTaskIndex  in-memory index of open tasks, updated when a project's tasks are deleted
+     * @param taskSearchIndex   in-memory search index, updated when a project's tasks are deleted
+     * @param taskCounters      in-memory task counts, updated when a project's tasks are deleted
      */
-    public ProjectService(ProjectRepository projectRepository, AuditLogService auditLogService, TaskRepository taskRepository) {
+    public ProjectService(ProjectRepository projectRepository, AuditLogServiceInterface auditLogService,
+                          TaskRepository taskRepository, UserRepository userRepository,
+                          OverdueTaskIndex overdueTaskIndex, TaskSearchIndex taskSearchIndex,
+                          TaskCounters taskCounters) {
         this.projectRepository = projectRepository;
         this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
         this.auditLogService = auditLogService;
+        this.overdueTaskIndex = overdueTaskIndex;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskCounters = taskCounters;
     }
 
     /**
@@ -59,9 +82,18 @@ public class ProjectService implements ProjectServiceInterface {
      */
     @Auditable(actionType = "CREATE", entityType = "Project")
     public ProjectResponseDTO createProject(@Valid ProjectRequestDTO requestDTO) {
+        Long userId = getAuthenticatedUser().getId();
         Project project = ProjectMapper.toEntity(requestDTO);
-        project.setUser(getAuthenticatedUser());
-        return ProjectMapper.toDTO(projectRepository.save(project));
+        // The principal may be a cached or token-built copy, so attach a plain reference instead
+        project.setUser(userRepository.getReferenceById(userId));
+        try {
+            return ProjectMapper.toDTO(projectRepository.saveAndFlush(project));
+        } catch (DataIntegrityViolationException ex) {
+            if (ForeignKeyViolations.isViolationOf(ex, "user_id")) {
+                throw new UserNotFoundException("User with ID " + userId + " not found");
+            }
+            throw ex;
+        }
     }
 
     /**
@@ -71,10 +103,9 @@ public class ProjectService implements ProjectServiceInterface {
      */
     @Auditable(actionType = "GET", entityType = "Project")
     @Cacheable("projects")
+    @Transactional(readOnly = true)
     public List<ProjectResponseDTO> getAllProjects() {
-        return projectRepository.findAll().stream()
-                .map(ProjectMapper::toDTO)
-                .collect(Collectors.toList());
+        return projectRepository.findAllDtos();
     }
 
     /**
@@ -106,6 +137,8 @@ public class ProjectService implements ProjectServiceInterface {
         Project existing = projectRepository.findById(id)
                 .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + id + " not found"));
 
+        AuditContext.recordBefore(ProjectMapper.toDTO(existing));
+
         existing.setName(requestDTO.getName());
         existing.setDescription(requestDTO.getDescription());
         existing.setDeadline(requestDTO.getDeadline());
@@ -129,6 +162,9 @@ public class ProjectService implements ProjectServiceInterface {
 
         taskRepository.deleteByProjectId(id);
         projectRepository.delete(existing);
+        overdueTaskIndex.removeProject(id);
+        taskSearchIndex.removeProject(id);
+        taskCounters.projectDeleted(id);
     }
 
     /**
@@ -0,0 +1,162 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.exceptions.InvalidRefreshTokenException;
+import com.example.project_tracker.models.RefreshToken;
+import com.example.project_tracker.models.User;
+import com.example.project_tracker.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates the opaque refresh tokens handed out next to access tokens.
+ * <p>
+ * A refresh token is 256 random bits; only its SHA-256 digest is stored, so renewing an access
+ * token costs one indexed lookup instead of a BCrypt check. Every refresh consumes the presented
+ * token and issues a new one in the same family. If a consumed token is presented again, someone
+ * holds a copy of it, so every token in the family is revoked and the user has to log in again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration timeToLive;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Counter rotated;
+    private final Counter rejected;
+    private final Counter expired;
+    private final Counter reused;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.refresh.ttl-days:14}") long timeToLiveDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.timeToLive = Duration.ofDays(timeToLiveDays);
+        this.rotated = meterRegistry.counter("auth.refresh", "result", "rotated");
+        this.rejected = meterRegistry.counter("auth.refresh", "result", "invalid");
+        this.expired = meterRegistry.counter("auth.refresh", "result", "expired");
+        this.reused = meterRegistry.counter("auth.refresh", "result", "reuse");
+    }
+
+    /**
+     * Issues a refresh token that starts a new family, typically after a password login.
+     *
+     * @param user the authenticated user
+     * @return the raw token to hand to the client
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes a refresh token and issues its successor.
+     *
+     * @param rawToken the refresh token presented by the client
+     * @return the token's user and the new refresh token
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or was already used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> {
+                    rejected.increment();
+                    return new InvalidRefreshTokenException("Invalid refresh token");
+                });
+        if (current.isRevoked()) {
+            rejected.increment();
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            expired.increment();
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            reused.increment();
+            log.warn("Refresh token reuse detected for user {}, revoked family {}",
+                    current.getUser().getId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token reuse detected");
+        }
+
+        User user = current.getUser();
+        String next = issue(user, current.getFamilyId());
+        rotated.increment();
+        return new Rotation(user, next);
+    }
+
+    /**
+     * Revokes the family of the given refresh token if it belongs to the user. Unknown tokens are ignored.
+     *
+     * @param rawToken the refresh token presented by the client
+     * @param userId   the user logging out
+     */
+    @Transactional
+    public void revoke(String rawToken, Long userId) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .filter(token -> token.getUser().getId().equals(userId))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Revokes every refresh token of a user, for example after a password change.
+     *
+     * @param userId the user's ID
+     */
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    /**
+     * Deletes refresh tokens that have expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.prune-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, user, Instant.now().plus(timeToLive)));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful refresh.
+     *
+     * @param user         the token's user, fully loaded
+     * @param refreshToken the new refresh token to hand to the client
+     */
+    public record Rotation(User user, String refreshToken) {}
+}
@@ -0,0 +1,209 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.request.BulkTaskItemDTO;
+import com.example.project_tracker.DTO.response.BulkTaskResultDTO;
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.enums.AuditSnapshotMode;
+import com.example.project_tracker.enums.BulkItemStatus;
+import com.example.project_tracker.mapper.TaskMapper;
+import com.example.project_tracker.models.Task;
+import com.example.project_tracker.repository.ProjectRepository;
+import com.example.project_tracker.repository.TaskRepository;
+import com.example.project_tracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and updates many tasks in one request.
+ * <p>
+ * Items are validated in a single pass, and the projects, users and tasks they reference are
+ * resolved with one IN query each. Valid items are written in one transaction. Task IDs come from
+ * a pooled sequence, so the inserts are sent as JDBC batches of {@code hibernate.jdbc.batch_size},
+ * and the persistence context is flushed and cleared after each batch to keep memory flat.
+ * Invalid items are skipped and reported individually; they do not fail the rest of the request.
+ */
+@Service
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final OverdueTaskIndex overdueTaskIndex;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCounters taskCounters;
+    private final Validator validator;
+    private final int maxItems;
+    private final int batchSize;
+
+    public TaskBulkService(TaskRepository taskRepository,
+                           ProjectRepository projectRepository,
+                           UserRepository userRepository,
+                           EntityManager entityManager,
+                           OverdueTaskIndex overdueTaskIndex,
+                           TaskSearchIndex taskSearchIndex,
+                           TaskCounters taskCounters,
+                           Validator validator,
+                           @Value("${tasks.bulk.max-items:50000}") int maxItems,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.overdueTaskIndex = overdueTaskIndex;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskCounters = taskCounters;
+        this.validator = validator;
+        this.maxItems = maxItems;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the items without an ID and updates the ones with an ID.
+     *
+     * @param items the tasks to write
+     * @return one result per item, in request order
+     * @throws IllegalArgumentException if the request is empty or has more than {@code tasks.bulk.max-items} items
+     */
+    @Auditable(actionType = "BULK_WRITE", entityType = "Task", snapshot = AuditSnapshotMode.REFERENCE)
+    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional
+    public List<BulkTaskResultDTO> writeTasks(List<BulkTaskItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one task is required");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " tasks can be written at once");
+        }
+
+        BulkTaskResultDTO[] results = new BulkTaskResultDTO[items.size()];
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> taskIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkTaskItemDTO item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results[i] = BulkTaskResultDTO.failed(i, item != null ? item.getId() : null, error);
+                continue;
+            }
+            projectIds.add(item.getProjectId());
+            userIds.add(item.getUserId());
+            if (item.getId() != null) {
+                taskIds.add(item.getId());
+            }
+        }
+
+        Set<Long> existingProjects = projectIds.isEmpty() ? Set.of() : new HashSet<>(projectRepository.findExistingIds(projectIds));
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+        Map<Long, Task> existingTasks = taskIds.isEmpty() ? Map.of() : taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BulkTaskItemDTO item = items.get(i);
+            if (!existingProjects.contains(item.getProjectId())) {
+                results[i] = BulkTaskResultDTO.failed(i, item.getId(), "Project with ID " + item.getProjectId() + " not found");
+            } else if (!existingUsers.contains(item.getUserId())) {
+                results[i] = BulkTaskResultDTO.failed(i, item.getId(), "User with ID " + item.getUserId() + " not found");
+            } else if (item.getId() != null && !existingTasks.containsKey(item.getId())) {
+                results[i] = BulkTaskResultDTO.failed(i, item.getId(), "Task with ID " + item.getId() + " not found");
+            }
+        }
+
+        // Updates first: the loaded tasks must still be managed when they are changed
+        List<Task> updated = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkTaskItemDTO item = items.get(i);
+            if (results[i] == null && item.getId() != null) {
+                Task task = existingTasks.get(item.getId());
+                TaskCounters.Group previousGroup = TaskCounters.groupOf(task);
+                task.setTitle(item.getTitle());
+                task.setDescription(item.getDescription());
+                task.setStatus(item.getStatus());
+                task.setDueDate(item.getDueDate());
+                task.setUser(userRepository.getReferenceById(item.getUserId()));
+                task.setProject(projectRepository.getReferenceById(item.getProjectId()));
+                updated.add(task);
+                taskCounters.moved(previousGroup, TaskCounters.groupOf(task));
+                results[i] = new BulkTaskResultDTO(i, task.getId(), BulkItemStatus.UPDATED, null);
+            }
+        }
+        flushWritten(updated);
+
+        List<Task> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < items.size(); i++) {
+            BulkTaskItemDTO item = items.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            Task task = TaskMapper.toEntity(item,
+                    userRepository.getReferenceById(item.getUserId()),
+                    projectRepository.getReferenceById(item.getProjectId()));
+            entityManager.persist(task);
+            batch.add(task);
+            taskCounters.moved(null, TaskCounters.groupOf(task));
+            results[i] = new BulkTaskResultDTO(i, task.getId(), BulkItemStatus.CREATED, null);
+            if (batch.size() == batchSize) {
+                flushWritten(batch);
+            }
+        }
+        flushWritten(batch);
+
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Sends the pending statements, then records the written tasks in the in-memory indexes and clears
+     * the persistence context. The timestamps are only set once the tasks have been flushed.
+     */
+    private void flushWritten(List<Task> written) {
+        entityManager.flush();
+        written.forEach(task -> {
+            TaskResponseDTO dto = TaskMapper.toDTO(task);
+            overdueTaskIndex.put(dto);
+            taskSearchIndex.put(dto);
+        });
+        entityManager.clear();
+        written.clear();
+    }
+
+    /**
+     * Returns the first constraint violation of the item, or {@code null} if it is valid.
+     */
+    private String validate(BulkTaskItemDTO item) {
+        if (item == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<BulkTaskItemDTO>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        Map<String, String> byField = new HashMap<>();
+        for (ConstraintViolation<BulkTaskItemDTO> violation : violations) {
+            byField.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return byField.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.models.Task;
+import com.example.project_tracker.repository.TaskRepository;
+import com.example.project_tracker.utils.ReplayingSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory task counts by status, overall, per project and per developer.
+ * <p>
+ * Counts are kept in {@link LongAdder}s for each (project, developer, status) group and rolled up
+ * per project, per developer and overall, so a read sums a handful of adders and never queries MySQL.
+ * <p>
+ * Task writes report the group a task left and the group it joined, and the counters apply the change
+ * after the transaction commits. The counts are loaded with one GROUP BY once the application is ready
+ * and reloaded on a fixed delay, which repairs changes made outside the services. Changes applied during
+ * a reload are replayed on top of it; one committed in the instant before the reload's query may be
+ * counted twice until the next reload.
+ */
+@Slf4j
+@Component
+public class TaskCounters {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+    private final Counter reconcileDrift;
+
+    private final ReplayingSnapshot<Snapshot> snapshot = new ReplayingSnapshot<>("task counters", new Snapshot());
+
+    public TaskCounters(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.reconcileDrift = meterRegistry.counter("tasks.counters.reconcile.drift");
+    }
+
+    /**
+     * Returns whether the counters have been loaded and can answer queries.
+     */
+    public boolean isReady() {
+        return snapshot.isReady();
+    }
+
+    /**
+     * Returns the number of tasks in each status.
+     */
+    public Map<TaskStatus, Long> overall() {
+        return StatusCounts.toMap(snapshot.current().overall);
+    }
+
+    /**
+     * Returns the number of tasks in each status for a project; all zero if the project has no tasks.
+     */
+    public Map<TaskStatus, Long> forProject(Long projectId) {
+        return StatusCounts.toMap(snapshot.current().byProject.get(projectId));
+    }
+
+    /**
+     * Returns the number of tasks in each status assigned to a developer; all zero if they have none.
+     */
+    public Map<TaskStatus, Long> forUser(Long userId) {
+        return StatusCounts.toMap(snapshot.current().byUser.get(userId));
+    }
+
+    /**
+     * Identifies the counting group of a task as it is now. Call before changing the task.
+     *
+     * @return the group, or {@code null} if the task is not yet complete enough to count
+     */
+    public static Group groupOf(Task task) {
+        if (task.getProject() == null || task.getUser() == null || task.getStatus() == null) {
+            return null;
+        }
+        return new Group(task.getProject().getId(), task.getUser().getId(), task.getStatus());
+    }
+
+    /**
+     * Moves one task between groups once the surrounding transaction commits.
+     *
+     * @param from the group the task left, or {@code null} for a new task
+     * @param to   the group the task joined, or {@code null} for a deleted task
+     */
+    public void moved(Group from, Group to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        snapshot.applyAfterCommit(current -> {
+            if (from != null) {
+                current.add(from, -1);
+            }
+            if (to != null) {
+                current.add(to, 1);
+            }
+        });
+    }
+
+    /**
+     * Drops every task of a deleted project once the surrounding transaction commits.
+     */
+    public void projectDeleted(Long projectId) {
+        snapshot.applyAfterCommit(current -> current.removeProject(projectId));
+    }
+
+    /**
+     * Loads the counters from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    /**
+     * Recounts every group in the database and swaps the result in, replaying the changes made meanwhile.
+     */
+    @Scheduled(initialDelayString = "${tasks.counters.reconcile-interval-ms:300000}",
+            fixedDelayString = "${tasks.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        snapshot.rebuild(() -> {
+            Snapshot rebuilt = new Snapshot();
+            taskRepository.countGroupedByProjectUserStatus().forEach(row -> rebuilt.add(
+                    new Group(row.getProjectId(), row.getUserId(), row.getStatus()), row.getCount()));
+            return rebuilt;
+        }, (previous, rebuilt) -> {
+            long drift = rebuilt.drift(previous);
+            if (drift > 0) {
+                reconcileDrift.increment(drift);
+                log.info("Task counters were off by {} tasks", drift);
+            }
+        });
+    }
+
+    /**
+     * The (project, developer, status) combination a task is counted under.
+     */
+    public record Group(Long projectId, Long userId, TaskStatus status) {}
+
+    /**
+     * One adder per status.
+     */
+    private static final class StatusCounts {
+
+        final LongAdder[] counts = new LongAdder[STATUSES.length];
+
+        StatusCounts() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void add(TaskStatus status, long delta) {
+            counts[status.ordinal()].add(delta);
+        }
+
+        long get(TaskStatus status) {
+            return counts[status.ordinal()].sum();
+        }
+
+        static Map<TaskStatus, Long> toMap(StatusCounts counts) {
+            Map<TaskStatus, Long> result = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : STATUSES) {
+                result.put(status, counts != null ? counts.get(status) : 0L);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The counts of each group plus their rollups. Written only under the {@link ReplayingSnapshot} lock; read without locking.
+     */
+    private static final class Snapshot {
+
+        final Map<Group, LongAdder> byGroup = new ConcurrentHashMap<>();
+        final Map<Long, StatusCounts> byProject = new ConcurrentHashMap<>();
+        final Map<Long, StatusCounts> byUser = new ConcurrentHashMap<>();
+        final StatusCounts overall = new StatusCounts();
+
+        void add(Group group, long delta) {
+            byGroup.computeIfAbsent(group, key -> new LongAdder()).add(delta);
+            byProject.computeIfAbsent(group.projectId(), key -> new StatusCounts()).add(group.status(), delta);
+            byUser.computeIfAbsent(group.userId(), key -> new StatusCounts()).add(group.status(), delta);
+            overall.add(group.status(), delta);
+        }
+
+        void removeProject(Long projectId) {
+            List<Group> groups = new ArrayList<>();
+            byGroup.keySet().forEach(group -> {
+                if (group.projectId().equals(projectId)) {
+                    groups.add(group);
+                }
+            });
+            for (Group group : groups) {
+                long count = byGroup.remove(group).sum();
+                byUser.get(group.userId()).add(group.status(), -count);
+                overall.add(group.status(), -count);
+            }
+            byProject.remove(projectId);
+        }
+
+        /**
+         * Sums the absolute differences between the group counts of the two snapshots.
+         */
+        long drift(Snapshot other) {
+            long drift = 0;
+            for (Map.Entry<Group, LongAdder> entry : byGroup.entrySet()) {
+                LongAdder previous = other.byGroup.get(entry.getKey());
+                drift += Math.abs(entry.getValue().sum() - (previous != null ? previous.sum() : 0));
+            }
+            for (Map.Entry<Group, LongAdder> entry : other.byGroup.entrySet()) {
+                if (!byGroup.containsKey(entry.getKey())) {
+                    drift += Math.abs(entry.getValue().sum());
+                }
+            }
+            return drift;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.models.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sort order and continuation tokens for keyset (seek) pagination over tasks.
+ * <p>
+ * Tasks are ordered by the requested fields, all in the same direction, with {@code id} appended
+ * as the tie-breaker. A continuation token holds the sort order and the sort values of the last
+ * task returned, and the next page selects the tasks that come strictly after them in that
+ * order. Each page is one bounded range query, however deep the client has paged.
+ * <p>
+ * Null due dates and creation times sort the way MySQL sorts them: first when ascending and
+ * last when descending.
+ */
+final class TaskKeyset {
+
+    private static final Map<String, SortKey> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put("dueDate", new SortKey("dueDate", true, Task::getDueDate, LocalDate::parse));
+        SORT_KEYS.put("status", new SortKey("status", false, Task::getStatus, TaskStatus::valueOf));
+        SORT_KEYS.put("createdAt", new SortKey("createdAt", true, Task::getCreatedAt, Instant::parse));
+    }
+
+    private static final SortKey ID = new SortKey("id", false, Task::getId, Long::valueOf);
+    private static final String SEPARATOR = "\n";
+
+    private final List<SortKey> keys;
+    private final Sort.Direction direction;
+    private final String signature;
+
+    private TaskKeyset(List<SortKey> keys, Sort.Direction direction) {
+        this.keys = keys;
+        this.direction = direction;
+        StringBuilder signature = new StringBuilder(direction.name());
+        for (SortKey key : keys) {
+            signature.append(',').append(key.field());
+        }
+        this.signature = signature.toString();
+    }
+
+    /**
+     * Parses a comma-separated list of sort fields and a direction.
+     *
+     * @throws IllegalArgumentException if a field or the direction is not supported
+     */
+    static TaskKeyset parse(String sortBy, String direction) {
+        List<SortKey> keys = new ArrayList<>();
+        for (String field : sortBy.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || name.equals(ID.field())) {
+                continue;
+            }
+            SortKey key = SORT_KEYS.get(name);
+            if (key == null) {
+                throw new IllegalArgumentException("Invalid sort field: " + name);
+            }
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        keys.add(ID);
+
+        Sort.Direction parsedDirection;
+        try {
+            parsedDirection = Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort direction: " + direction);
+        }
+        return new TaskKeyset(keys, parsedDirection);
+    }
+
+    /**
+     * Returns the full sort order, including the {@code id} tie-breaker.
+     */
+    Sort sort() {
+        return Sort.by(direction, keys.stream().map(SortKey::field).toArray(String[]::new));
+    }
+
+    /**
+     * Returns the token that continues after the given task.
+     */
+    String cursorAfter(Task last) {
+        StringBuilder raw = new StringBuilder(signature);
+        for (SortKey key : keys) {
+            Object value = key.getter().apply(last);
+            raw.append(SEPARATOR).append(value == null ? "" : valueToString(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns a filter selecting the tasks after the position in the token.
+     *
+     * @throws IllegalArgumentException if the token is malformed or was issued for a different sort order
+     */
+    Specification<Task> after(String cursor) {
+        List<Comparable<?>> values = decode(cursor);
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalSoFar = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                Expression<Comparable<Object>> path = root.get(keys.get(i).field());
+                Predicate after = comesAfter(cb, path, values.get(i));
+                List<Predicate> conjunction = new ArrayList<>(equalSoFar);
+                conjunction.add(after);
+                alternatives.add(cb.and(conjunction.toArray(Predicate[]::new)));
+                equalSoFar.add(equalTo(cb, path, values.get(i)));
+            }
+            Predicate seek = cb.or(alternatives.toArray(Predicate[]::new));
+            Predicate bound = leadingBound(cb, root, values.get(0));
+            return bound != null ? cb.and(bound, seek) : seek;
+        };
+    }
+
+    /**
+     * A redundant range condition on the first sort column, so the database can start an index range scan.
+     */
+    private Predicate leadingBound(CriteriaBuilder cb, Root<Task> root, Comparable<?> value) {
+        SortKey first = keys.get(0);
+        if (value == null) {
+            return null;
+        }
+        Expression<Comparable<Object>> path = root.get(first.field());
+        if (direction.isAscending()) {
+            return cb.greaterThanOrEqualTo(path, comparable(value));
+        }
+        return first.nullable() ? null : cb.lessThanOrEqualTo(path, comparable(value));
+    }
+
+    private Predicate comesAfter(CriteriaBuilder cb, Expression<Comparable<Object>> path, Comparable<?> value) {
+        if (direction.isAscending()) {
+            return value == null ? cb.isNotNull(path) : cb.greaterThan(path, comparable(value));
+        }
+        return value == null ? cb.disjunction() : cb.or(cb.lessThan(path, comparable(value)), cb.isNull(path));
+    }
+
+    private static Predicate equalTo(CriteriaBuilder cb, Expression<Comparable<Object>> path, Comparable<?> value) {
+        return value == null ? cb.isNull(path) : cb.equal(path, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Comparable<?> value) {
+        return (Comparable<Object>) value;
+    }
+
+    private List<Comparable<?>> decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split(SEPARATOR, -1);
+        if (parts.length != keys.size() + 1 || !parts[0].equals(signature)) {
+            throw new IllegalArgumentException("Invalid cursor for this sort order");
+        }
+
+        List<Comparable<?>> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String part = parts[i + 1];
+            if (part.isEmpty()) {
+                if (!keys.get(i).nullable()) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                values.add(null);
+                continue;
+            }
+            try {
+                values.add(keys.get(i).parser().apply(part));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        return values;
+    }
+
+    private static String valueToString(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    /**
+     * A sortable task attribute.
+     *
+     * @param field    the entity attribute name
+     * @param nullable whether the column may be null
+     * @param getter   reads the value from a task
+     * @param parser   reads the value back from a continuation token
+     */
+    private record SortKey(String field, boolean nullable, Function<Task, Object> getter,
+                           Function<String, Comparable<?>> parser) {}
+}
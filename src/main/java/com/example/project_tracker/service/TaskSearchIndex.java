@@ -0,0 +1,936 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.exceptions.SearchIndexNotReadyException;
+import com.example.project_tracker.repository.TaskRepository;
+import com.example.project_tracker.utils.LongIntMap;
+import com.example.project_tracker.utils.ReplayingSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ * <p>
+ * Text is split into lowercase letter-and-digit terms. Title terms are counted twice, so a match in
+ * the title ranks above the same match in the description. Results are ranked with BM25. Every query
+ * term must match, and the last one also matches as a prefix, so results appear while the user types.
+ * <p>
+ * The index is laid out for a few million tasks. Each task is stored in a numbered slot: per-slot arrays
+ * hold the DTO returned by searches, the fields searches filter on and the task's term ids with their
+ * frequencies. Each term keeps its postings as two arrays of slots and frequencies sorted by slot, so a
+ * term is scored with a linear scan and a second term is intersected by galloping through its postings.
+ * Changes are made in place under a write lock and searches take the read lock.
+ * <p>
+ * {@link TaskService} and {@link TaskBulkService} update the index after their transaction commits.
+ * The index is built once the application is ready from a streaming scan of the task table, with
+ * worker threads tokenizing batches while the scan continues; see {@link ReplayingSnapshot} for how
+ * changes that arrive during the build are kept. Searches fail with {@link SearchIndexNotReadyException}
+ * until then; a failed build is retried on a short delay. Once built, the index is reconciled in place
+ * against another scan on a fixed delay to repair changes made outside the services. Tasks the services
+ * change while that scan runs are left as the services wrote them, so no second copy of the index is built.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int rebuildThreads;
+    private final Timer queryLatency;
+    private final Counter reconcileDrift;
+
+    private final ReplayingSnapshot<Snapshot> snapshot = new ReplayingSnapshot<>("task search index", new Snapshot());
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${tasks.search.rebuild-threads:0}") int rebuildThreads) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        this.queryLatency = Timer.builder("tasks.search.latency").register(meterRegistry);
+        this.reconcileDrift = meterRegistry.counter("tasks.search.reconcile.drift");
+        meterRegistry.gauge("tasks.search.documents", this, index -> index.snapshot.current().documentCount());
+        meterRegistry.gauge("tasks.search.terms", this, index -> index.snapshot.current().termCount());
+    }
+
+    /**
+     * Returns the best matching tasks, highest score first.
+     *
+     * @param query     the search text; blank queries match nothing
+     * @param projectId only return tasks of this project, or {@code null} for all
+     * @param status    only return tasks with this status, or {@code null} for all
+     * @param limit     the maximum number of tasks to return
+     * @return the matching tasks
+     * @throws SearchIndexNotReadyException if the index has not been built yet
+     */
+    public List<TaskResponseDTO> search(String query, Long projectId, TaskStatus status, int limit) {
+        if (!snapshot.isReady()) {
+            throw new SearchIndexNotReadyException("Task search is starting up, try again shortly", 5);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return snapshot.current().search(query, projectId, status, limit);
+        } finally {
+            queryLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Indexes the current state of a task once the surrounding transaction commits.
+     */
+    public void put(TaskResponseDTO task) {
+        Doc doc = Doc.of(task);
+        snapshot.applyAfterCommit(current -> current.put(doc));
+    }
+
+    /**
+     * Removes a deleted task once the surrounding transaction commits.
+     */
+    public void remove(Long taskId) {
+        snapshot.applyAfterCommit(current -> current.remove(taskId));
+    }
+
+    /**
+     * Removes every task of a deleted project once the surrounding transaction commits.
+     */
+    public void removeProject(Long projectId) {
+        snapshot.applyAfterCommit(current -> current.removeProject(projectId));
+    }
+
+    /**
+     * Builds the index from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        buildIfNotReady();
+    }
+
+    /**
+     * Retries the initial build until it succeeds, so a database outage at startup does not leave
+     * search unavailable until the next reconcile.
+     */
+    @Scheduled(initialDelayString = "${tasks.search.retry-interval-ms:30000}",
+            fixedDelayString = "${tasks.search.retry-interval-ms:30000}")
+    public void retryIfNotReady() {
+        buildIfNotReady();
+    }
+
+    /**
+     * Compares the index with a streaming scan of every task and repairs the tasks that differ, in place.
+     * Tasks changed through the services while the scan runs are skipped, as their indexed state is at least
+     * as new as the scanned one; tasks that were not scanned are removed at the end. A failed scan is logged
+     * and leaves the repairs made so far. Runs on a fixed delay to repair changes made outside the services.
+     */
+    @Scheduled(initialDelayString = "${tasks.search.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${tasks.search.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (!snapshot.isReady()) {
+            return;
+        }
+        Snapshot current = snapshot.current();
+        if (!current.startReconcile()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            AtomicLong drift = new AtomicLong();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    forEachBatch(batch -> drift.addAndGet(current.reconcile(batch))));
+            drift.addAndGet(current.removeUnseen());
+            if (drift.get() > 0) {
+                reconcileDrift.increment(drift.get());
+                log.info("Task search index was out of date for {} tasks", drift.get());
+            }
+            log.info("Reconciled {} tasks in the search index in {} ms", current.documentCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile the task search index", e);
+        } finally {
+            current.endReconcile();
+        }
+    }
+
+    private void buildIfNotReady() {
+        long startNanos = System.nanoTime();
+        if (snapshot.rebuildIfNotReady(this::scan)) {
+            log.info("Indexed {} tasks for search in {} ms", snapshot.current().documentCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * Builds the index from a streaming scan of every task. The scan hands batches of tasks to a pool
+     * of worker threads that tokenize them and add them to the new snapshot.
+     */
+    private Snapshot scan() throws Exception {
+        Snapshot built = new Snapshot();
+        ExecutorService workers = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    forEachBatch(batch -> batches.add(submit(workers, built, batch))));
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+            built.trimToSize();
+            return built;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Future<?> submit(ExecutorService workers, Snapshot target, List<TaskResponseDTO> batch) {
+        List<TaskResponseDTO> tasks = List.copyOf(batch);
+        return workers.submit(() -> target.add(tasks.stream().map(Doc::of).toList()));
+    }
+
+    /**
+     * Streams every task and passes them on in batches; a batch is reused once the action returns.
+     */
+    private void forEachBatch(Consumer<List<TaskResponseDTO>> action) {
+        try (Stream<TaskResponseDTO> tasks = taskRepository.streamAllDtos()) {
+            List<TaskResponseDTO> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            tasks.forEach(task -> {
+                batch.add(task);
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    action.accept(batch);
+                    batch.clear();
+                }
+            });
+            action.accept(batch);
+        }
+    }
+
+    /**
+     * Splits text into lowercase terms made of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns whether two versions of a task would be found and returned the same way.
+     */
+    private static boolean sameTask(TaskResponseDTO indexed, TaskResponseDTO scanned) {
+        return Objects.equals(indexed.getTitle(), scanned.getTitle())
+                && Objects.equals(indexed.getDescription(), scanned.getDescription())
+                && indexed.getStatus() == scanned.getStatus()
+                && Objects.equals(indexed.getDueDate(), scanned.getDueDate())
+                && Objects.equals(indexed.getProjectId(), scanned.getProjectId())
+                && Objects.equals(indexed.getUserId(), scanned.getUserId());
+    }
+
+    /**
+     * A tokenized task: its distinct terms with their weighted frequencies, and its length.
+     */
+    private record Doc(TaskResponseDTO task, String[] terms, int[] frequencies, int length) {
+
+        static Doc of(TaskResponseDTO task) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String term : tokenize(task.getTitle())) {
+                counts.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenize(task.getDescription())) {
+                counts.merge(term, 1, Integer::sum);
+            }
+            String[] terms = new String[counts.size()];
+            int[] frequencies = new int[counts.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                terms[i] = count.getKey();
+                frequencies[i++] = count.getValue();
+                length += count.getValue();
+            }
+            return new Doc(task, terms, frequencies, length);
+        }
+    }
+
+    /**
+     * The postings of one term: the slots of the tasks containing it, ascending, and the term's
+     * frequency in each.
+     */
+    private static final class Posting {
+
+        final int termId;
+        final String term;
+        int[] slots = new int[2];
+        int[] frequencies = new int[2];
+        int size;
+
+        Posting(int termId, String term) {
+            this.termId = termId;
+            this.term = term;
+        }
+
+        /**
+         * Returns the index of the first slot at or after {@code from} that is not below {@code slot},
+         * or {@code size}. Steps forward in doubling strides before a binary search, so a sorted
+         * sequence of lookups costs little more than a merge.
+         */
+        int seek(int slot, int from) {
+            if (from >= size || slots[from] >= slot) {
+                return from;
+            }
+            int low = from;
+            int stride = 1;
+            int high = from + 1;
+            while (high < size && slots[high] < slot) {
+                low = high;
+                stride <<= 1;
+                high = low + stride;
+            }
+            int index = Arrays.binarySearch(slots, low + 1, Math.min(high, size), slot);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        void put(int slot, int frequency) {
+            int index = size == 0 || slots[size - 1] < slot ? -size - 1 : Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return;
+            }
+            index = -index - 1;
+            if (size == slots.length) {
+                int capacity = size + (size >> 1) + 1;
+                slots = Arrays.copyOf(slots, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            slots[index] = slot;
+            frequencies[index] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+                System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+                size--;
+            }
+        }
+
+        void trimToSize() {
+            if (size < slots.length) {
+                slots = Arrays.copyOf(slots, size);
+                frequencies = Arrays.copyOf(frequencies, size);
+            }
+        }
+    }
+
+    /**
+     * A growable stack of free slots or term ids.
+     */
+    private static final class IntStack {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * The tasks matching the terms intersected so far: their slots, ascending, and summed scores.
+     */
+    private static final class Candidates {
+
+        int[] slots;
+        double[] scores;
+        int size;
+
+        Candidates(int capacity) {
+            slots = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        void add(int slot, double score) {
+            slots[size] = slot;
+            scores[size++] = score;
+        }
+    }
+
+    private record Hit(int slot, double score) {}
+
+    /**
+     * The term dictionary, sorted for prefix lookups, the postings of each term and the indexed tasks.
+     * <p>
+     * Every change takes the write lock, so the changes from the services, the workers of a build and
+     * a reconcile never interleave. Searches take the read lock.
+     */
+    private static final class Snapshot {
+
+        private static final int INITIAL_SLOTS = 1024;
+        private static final int[] NO_TERMS = new int[0];
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final NavigableMap<String, Posting> dictionary = new TreeMap<>();
+        private Posting[] postingsByTermId = new Posting[INITIAL_SLOTS];
+        private final IntStack freeTermIds = new IntStack();
+        private int termIdCount;
+
+        private final LongIntMap slotsByTaskId = new LongIntMap(INITIAL_SLOTS);
+        private TaskResponseDTO[] tasks = new TaskResponseDTO[INITIAL_SLOTS];
+        /** Per slot, the task's term ids ascending, each followed by its frequency. */
+        private int[][] termsBySlot = new int[INITIAL_SLOTS][];
+        private int[] lengths = new int[INITIAL_SLOTS];
+        private long[] projectIds = new long[INITIAL_SLOTS];
+        private byte[] statuses = new byte[INITIAL_SLOTS];
+        private final IntStack freeSlots = new IntStack();
+        private int slotCount;
+        private long totalLength;
+
+        /** While a reconcile runs, the tasks changed through the services and the slots it has scanned. */
+        private Set<Long> touched;
+        private BitSet scanned;
+
+        int documentCount() {
+            return slotsByTaskId.size();
+        }
+
+        int termCount() {
+            return dictionary.size();
+        }
+
+        void add(List<Doc> docs) {
+            lock.writeLock().lock();
+            try {
+                docs.forEach(this::store);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void put(Doc doc) {
+            lock.writeLock().lock();
+            try {
+                store(doc);
+                touch(doc.task().getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                delete(taskId);
+                touch(taskId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeProject(Long projectId) {
+            lock.writeLock().lock();
+            try {
+                List<Long> taskIds = new ArrayList<>();
+                for (int slot = 0; slot < slotCount; slot++) {
+                    if (tasks[slot] != null && projectIds[slot] == projectId) {
+                        taskIds.add(tasks[slot].getId());
+                    }
+                }
+                for (Long taskId : taskIds) {
+                    delete(taskId);
+                    touch(taskId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Shrinks the postings to their size once a build has added every task.
+         */
+        void trimToSize() {
+            lock.writeLock().lock();
+            try {
+                dictionary.values().forEach(Posting::trimToSize);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Starts tracking the changes made through the services, or returns false if a reconcile is running.
+         */
+        boolean startReconcile() {
+            lock.writeLock().lock();
+            try {
+                if (touched != null) {
+                    return false;
+                }
+                touched = new HashSet<>();
+                scanned = new BitSet(slotCount);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void endReconcile() {
+            lock.writeLock().lock();
+            try {
+                touched = null;
+                scanned = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Re-indexes the scanned tasks that differ from their indexed version and returns how many did.
+         */
+        long reconcile(List<TaskResponseDTO> batch) {
+            lock.writeLock().lock();
+            try {
+                long drift = 0;
+                for (TaskResponseDTO task : batch) {
+                    if (touched.contains(task.getId())) {
+                        continue;
+                    }
+                    int slot = slotsByTaskId.get(task.getId());
+                    if (slot < 0 || !sameTask(tasks[slot], task)) {
+                        store(Doc.of(task));
+                        slot = slotsByTaskId.get(task.getId());
+                        drift++;
+                    }
+                    scanned.set(slot);
+                }
+                return drift;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Removes the indexed tasks that the reconcile scan did not return and returns how many there were.
+         */
+        long removeUnseen() {
+            lock.writeLock().lock();
+            try {
+                List<Long> stale = new ArrayList<>();
+                for (int slot = 0; slot < slotCount; slot++) {
+                    if (tasks[slot] != null && !scanned.get(slot) && !touched.contains(tasks[slot].getId())) {
+                        stale.add(tasks[slot].getId());
+                    }
+                }
+                stale.forEach(this::delete);
+                return stale.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void touch(Long taskId) {
+            if (touched != null) {
+                touched.add(taskId);
+            }
+        }
+
+        private void store(Doc doc) {
+            TaskResponseDTO task = doc.task();
+            int[] terms = termIds(doc);
+            int slot = slotsByTaskId.get(task.getId());
+            if (slot < 0) {
+                slot = allocateSlot();
+                slotsByTaskId.put(task.getId(), slot);
+                relink(slot, NO_TERMS, terms);
+            } else {
+                relink(slot, termsBySlot[slot], terms);
+                totalLength -= lengths[slot];
+            }
+            tasks[slot] = task;
+            termsBySlot[slot] = terms;
+            lengths[slot] = doc.length();
+            projectIds[slot] = task.getProjectId() != null ? task.getProjectId() : Long.MIN_VALUE;
+            statuses[slot] = (byte) (task.getStatus() != null ? task.getStatus().ordinal() : -1);
+            totalLength += doc.length();
+        }
+
+        private void delete(long taskId) {
+            int slot = slotsByTaskId.remove(taskId);
+            if (slot < 0) {
+                return;
+            }
+            relink(slot, termsBySlot[slot], NO_TERMS);
+            totalLength -= lengths[slot];
+            tasks[slot] = null;
+            termsBySlot[slot] = null;
+            if (scanned != null) {
+                scanned.clear(slot);
+            }
+            freeSlots.push(slot);
+        }
+
+        /**
+         * Returns the term ids and frequencies of the document, adding its new terms to the dictionary.
+         */
+        private int[] termIds(Doc doc) {
+            long[] pairs = new long[doc.terms().length];
+            for (int i = 0; i < pairs.length; i++) {
+                Posting posting = dictionary.get(doc.terms()[i]);
+                if (posting == null) {
+                    posting = addTerm(doc.terms()[i]);
+                }
+                pairs[i] = (long) posting.termId << 32 | doc.frequencies()[i];
+            }
+            Arrays.sort(pairs);
+            int[] terms = new int[pairs.length * 2];
+            for (int i = 0; i < pairs.length; i++) {
+                terms[2 * i] = (int) (pairs[i] >>> 32);
+                terms[2 * i + 1] = (int) pairs[i];
+            }
+            return terms;
+        }
+
+        private Posting addTerm(String term) {
+            int termId = freeTermIds.isEmpty() ? termIdCount++ : freeTermIds.pop();
+            if (termId == postingsByTermId.length) {
+                postingsByTermId = Arrays.copyOf(postingsByTermId, termId + (termId >> 1));
+            }
+            Posting posting = new Posting(termId, term);
+            postingsByTermId[termId] = posting;
+            dictionary.put(term, posting);
+            return posting;
+        }
+
+        /**
+         * Moves a slot from the postings of its previous terms to those of its new terms, touching only
+         * the terms whose frequency changed. A term left without postings is dropped from the dictionary.
+         */
+        private void relink(int slot, int[] before, int[] after) {
+            int i = 0;
+            int j = 0;
+            while (i < before.length || j < after.length) {
+                int previous = i < before.length ? before[i] : Integer.MAX_VALUE;
+                int next = j < after.length ? after[j] : Integer.MAX_VALUE;
+                if (previous == next) {
+                    if (before[i + 1] != after[j + 1]) {
+                        postingsByTermId[next].put(slot, after[j + 1]);
+                    }
+                    i += 2;
+                    j += 2;
+                } else if (previous < next) {
+                    Posting posting = postingsByTermId[previous];
+                    posting.remove(slot);
+                    if (posting.size == 0) {
+                        dictionary.remove(posting.term);
+                        postingsByTermId[previous] = null;
+                        freeTermIds.push(previous);
+                    }
+                    i += 2;
+                } else {
+                    postingsByTermId[next].put(slot, after[j + 1]);
+                    j += 2;
+                }
+            }
+        }
+
+        private int allocateSlot() {
+            if (!freeSlots.isEmpty()) {
+                return freeSlots.pop();
+            }
+            if (slotCount == tasks.length) {
+                int capacity = slotCount + (slotCount >> 1);
+                tasks = Arrays.copyOf(tasks, capacity);
+                termsBySlot = Arrays.copyOf(termsBySlot, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                projectIds = Arrays.copyOf(projectIds, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            return slotCount++;
+        }
+
+        List<TaskResponseDTO> search(String query, Long projectId, TaskStatus status, int limit) {
+            List<String> terms = tokenize(query);
+            if (terms.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            boolean prefixLast = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+            lock.readLock().lock();
+            try {
+                int documentCount = documentCount();
+                if (documentCount == 0) {
+                    return List.of();
+                }
+                Scorer scorer = new Scorer(documentCount, Math.max(1.0, (double) totalLength / documentCount),
+                        projectId, status);
+
+                List<Posting[]> clauses = new ArrayList<>(terms.size());
+                for (int i = 0; i < terms.size(); i++) {
+                    Posting[] clause = postings(terms.get(i), prefixLast && i == terms.size() - 1);
+                    if (clause.length == 0) {
+                        return List.of();
+                    }
+                    clauses.add(clause);
+                }
+
+                PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::score)
+                        .thenComparing(hit -> tasks[hit.slot()].getId(), Comparator.reverseOrder()));
+                if (clauses.size() == 1) {
+                    Posting[] clause = clauses.get(0);
+                    for (Posting posting : clause) {
+                        double idf = scorer.idf(posting);
+                        for (int i = 0; i < posting.size; i++) {
+                            int slot = posting.slots[i];
+                            if (scorer.accepts(slot)) {
+                                offer(top, limit, slot, scorer.score(posting, i, idf), clause.length > 1);
+                            }
+                        }
+                    }
+                } else {
+                    // Start from the rarest term, so every further term only checks the tasks still matching.
+                    clauses.sort(Comparator.comparingLong(Snapshot::size));
+                    Candidates candidates = collect(clauses.get(0), scorer);
+                    for (int i = 1; i < clauses.size() && candidates.size > 0; i++) {
+                        intersect(candidates, clauses.get(i), scorer);
+                    }
+                    for (int i = 0; i < candidates.size; i++) {
+                        offer(top, limit, candidates.slots[i], candidates.scores[i], false);
+                    }
+                }
+
+                List<TaskResponseDTO> results = new ArrayList<>(top.size());
+                while (!top.isEmpty()) {
+                    results.add(tasks[top.poll().slot()]);
+                }
+                Collections.reverse(results);
+                return results;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Returns the postings of the term, or of every term starting with it when {@code prefix} is set.
+         * A prefix matches at most {@value #MAX_PREFIX_EXPANSIONS} terms.
+         */
+        private Posting[] postings(String term, boolean prefix) {
+            if (!prefix) {
+                Posting exact = dictionary.get(term);
+                return exact != null ? new Posting[] {exact} : new Posting[0];
+            }
+            return dictionary.subMap(term, true, term + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .toArray(Posting[]::new);
+        }
+
+        private static long size(Posting[] clause) {
+            long size = 0;
+            for (Posting posting : clause) {
+                size += posting.size;
+            }
+            return size;
+        }
+
+        /**
+         * Adds a hit to the top {@code limit}. When a task may be offered more than once, as with the
+         * expansions of a prefix, it keeps its best score.
+         */
+        private void offer(PriorityQueue<Hit> top, int limit, int slot, double score, boolean repeats) {
+            if (top.size() == limit && !ranksAbove(slot, score, top.peek())) {
+                return;
+            }
+            if (repeats) {
+                for (Hit hit : top) {
+                    if (hit.slot() == slot) {
+                        if (hit.score() >= score) {
+                            return;
+                        }
+                        top.remove(hit);
+                        break;
+                    }
+                }
+            }
+            top.add(new Hit(slot, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        private boolean ranksAbove(int slot, double score, Hit other) {
+            return score > other.score()
+                    || (score == other.score() && tasks[slot].getId() < tasks[other.slot()].getId());
+        }
+
+        /**
+         * Scores the tasks matching one query term that pass the filters. A task matching several
+         * expansions of a prefix keeps its best match.
+         */
+        private Candidates collect(Posting[] clause, Scorer scorer) {
+            if (clause.length == 1) {
+                Posting posting = clause[0];
+                double idf = scorer.idf(posting);
+                Candidates candidates = new Candidates(posting.size);
+                for (int i = 0; i < posting.size; i++) {
+                    if (scorer.accepts(posting.slots[i])) {
+                        candidates.add(posting.slots[i], scorer.score(posting, i, idf));
+                    }
+                }
+                return candidates;
+            }
+
+            // Sort every match by slot, keeping the index of its score in the low half, then merge runs.
+            int total = (int) size(clause);
+            long[] matches = new long[total];
+            double[] scores = new double[total];
+            int count = 0;
+            for (Posting posting : clause) {
+                double idf = scorer.idf(posting);
+                for (int i = 0; i < posting.size; i++) {
+                    if (scorer.accepts(posting.slots[i])) {
+                        matches[count] = (long) posting.slots[i] << 32 | count;
+                        scores[count++] = scorer.score(posting, i, idf);
+                    }
+                }
+            }
+            Arrays.sort(matches, 0, count);
+            Candidates candidates = new Candidates(count);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) (matches[i] >>> 32);
+                double score = scores[(int) matches[i]];
+                if (candidates.size > 0 && candidates.slots[candidates.size - 1] == slot) {
+                    candidates.scores[candidates.size - 1] = Math.max(candidates.scores[candidates.size - 1], score);
+                } else {
+                    candidates.add(slot, score);
+                }
+            }
+            return candidates;
+        }
+
+        /**
+         * Keeps the candidates that also match the term and adds its score, the best over a prefix's expansions.
+         */
+        private static void intersect(Candidates candidates, Posting[] clause, Scorer scorer) {
+            double[] best = new double[candidates.size];
+            for (Posting posting : clause) {
+                double idf = scorer.idf(posting);
+                int cursor = 0;
+                for (int i = 0; i < candidates.size && cursor < posting.size; i++) {
+                    cursor = posting.seek(candidates.slots[i], cursor);
+                    if (cursor < posting.size && posting.slots[cursor] == candidates.slots[i]) {
+                        best[i] = Math.max(best[i], scorer.score(posting, cursor, idf));
+                    }
+                }
+            }
+            int kept = 0;
+            for (int i = 0; i < candidates.size; i++) {
+                // BM25 scores are always positive, so zero means the term did not match.
+                if (best[i] > 0) {
+                    candidates.slots[kept] = candidates.slots[i];
+                    candidates.scores[kept++] = candidates.scores[i] + best[i];
+                }
+            }
+            candidates.size = kept;
+        }
+
+        /**
+         * The BM25 statistics and filters of one search.
+         */
+        private final class Scorer {
+
+            private final int documentCount;
+            private final double averageLength;
+            private final boolean filterProject;
+            private final long projectId;
+            private final int status;
+
+            Scorer(int documentCount, double averageLength, Long projectId, TaskStatus status) {
+                this.documentCount = documentCount;
+                this.averageLength = averageLength;
+                this.filterProject = projectId != null;
+                this.projectId = projectId != null ? projectId : 0;
+                this.status = status != null ? status.ordinal() : -1;
+            }
+
+            boolean accepts(int slot) {
+                return (!filterProject || projectIds[slot] == projectId) && (status < 0 || statuses[slot] == status);
+            }
+
+            double idf(Posting posting) {
+                int documentFrequency = posting.size;
+                return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            }
+
+            double score(Posting posting, int index, double idf) {
+                int frequency = posting.frequencies[index];
+                double norm = K1 * (1 - B + B * lengths[posting.slots[index]] / averageLength);
+                return idf * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+    }
+}
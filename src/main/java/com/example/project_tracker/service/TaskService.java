@@ -1,8 +1,11 @@
 package com.example.project_tracker.service;
 
 import com.example.project_tracker.DTO.request.TaskRequestDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
 import com.example.project_tracker.DTO.response.TaskResponseDTO;
 import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.aspects.AuditContext;
+import com.example.project_tracker.enums.TaskStatus;
 import com.example.project_tracker.exceptions.UserNotFoundException;
 import com.example.project_tracker.exceptions.ProjectNotFoundException;
 import com.example.project_tracker.exceptions.TaskNotFoundException;
@@ -14,21 +17,31 @@ import com.example.project_tracker.repository.ProjectRepository;
 import com.example.project_tracker.repository.TaskRepository;
 import com.example.project_tracker.repository.UserRepository;
 import com.example.project_tracker.security.CustomUserDetails;
+import com.example.project_tracker.security.TaskAccessCache;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
 import com.example.project_tracker.service.interfaces.TaskServiceInterface;
+import com.example.project_tracker.utils.ForeignKeyViolations;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing tasks in the project tracker system.
@@ -38,6 +51,9 @@ import java.util.stream.Collectors;
  * <p>This service ensures proper access control, validation, and entity relationships
  * between tasks, projects, and users (developers).</p>
  *
+ * <p>Writes attach the task's user and project as unloaded references and rely on the
+ * foreign keys to reject IDs that do not exist, so they do not select either row first.</p>
+ *
  * <p>All mutating operations are annotated with {@link com.example.project_tracker.annotations.Auditable}
  * for audit trail generation.</p>
  *
@@ -50,20 +66,33 @@ public class TaskService implements TaskServiceInterface {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
-    private final AuditLogService auditLogService;
+    private final AuditLogServiceInterface auditLogService;
+    private final TaskAccessCache taskAccessCache;
+    private final EntityManager entityManager;
+    private final OverdueTaskIndex overdueTaskIndex;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCounters taskCounters;
     private final Counter taskCounter;
 
-    // Make allowed fields static so it's not created on every method call
-    private static final List<String> ALLOWED_SORT_FIELDS = List.of("dueDate", "status", "createdAt");
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 100;
 
     public TaskService(TaskRepository taskRepository,
                        UserRepository userRepository,
                        ProjectRepository projectRepository,
-                       AuditLogService auditLogService, MeterRegistry meterRegistry) {
+                       AuditLogServiceInterface auditLogService, TaskAccessCache taskAccessCache,
+                       EntityManager entityManager, OverdueTaskIndex overdueTaskIndex,
+                       TaskSearchIndex taskSearchIndex, TaskCounters taskCounters,
+                       MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.auditLogService = auditLogService;
+        this.taskAccessCache = taskAccessCache;
+        this.entityManager = entityManager;
+        this.overdueTaskIndex = overdueTaskIndex;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskCounters = taskCounters;
         this.taskCounter = meterRegistry.counter("tasks.processed.count");
     }
 
@@ -78,34 +107,66 @@ public class TaskService implements TaskServiceInterface {
 
     @Auditable(actionType = "CREATE", entityType = "Task")
     public TaskResponseDTO createTask(@Valid TaskRequestDTO dto) {
-        User developer = (dto.getUserId() != null)
-                ? userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + dto.getUserId() + " not found"))
-                : null;
-
-        Project project = projectRepository.findById(dto.getProjectId())
-                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + dto.getProjectId() + " not found"));
-
-        Task task = TaskMapper.toEntity(dto, developer, project);
-        return TaskMapper.toDTO(taskRepository.save(task));
+        Task task = TaskMapper.toEntity(dto, userReference(dto.getUserId()), projectRepository.getReferenceById(dto.getProjectId()));
+        Task saved = saveWithReferences(task, dto);
+        TaskResponseDTO created = TaskMapper.toDTO(saved);
+        overdueTaskIndex.put(created);
+        taskSearchIndex.put(created);
+        taskCounters.moved(null, TaskCounters.groupOf(saved));
+        return created;
     }
 
     /**
-     * Retrieves all tasks, sorted by the specified field.
+     * Retrieves one page of tasks using keyset pagination.
+     * <p>
+     * Tasks are ordered by the given fields and then by ID. The cursor is the {@code next}
+     * token of the previous page and must come from a request with the same sort order.
      *
-     * @param sortBy the field to sort tasks by (e.g., dueDate, status, createdAt)
-     * @return a list of task response DTOs
-     * @throws IllegalArgumentException if an unsupported sort field is provided
+     * @param sortBy    comma-separated sort fields (dueDate, status, createdAt)
+     * @param direction ASC or DESC, applied to every sort field
+     * @param cursor    the continuation token from the previous page, or {@code null} for the first page
+     * @param limit     the maximum number of tasks to return, capped at {@value #MAX_PAGE_SIZE}
+     * @return the page of tasks and the token for the next page
+     * @throws IllegalArgumentException if a sort field, the direction or the cursor is invalid
      */
 
     @Auditable(actionType = "GET", entityType = "Task")
-    public List<TaskResponseDTO> getAllTasks(String sortBy) {
-        if (!ALLOWED_SORT_FIELDS.contains(sortBy)) {
-            throw new IllegalArgumentException("Invalid sort field: " + sortBy);
+    public CursorPageDTO<TaskResponseDTO> getAllTasks(String sortBy, String direction, String cursor, int limit) {
+        TaskKeyset keyset = TaskKeyset.parse(sortBy, direction);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Specification<Task> filter = cursor != null && !cursor.isBlank()
+                ? keyset.after(cursor)
+                : Specification.where(null);
+
+        List<Task> tasks = taskRepository.findBy(filter, query -> query.sortBy(keyset.sort()).limit(pageSize + 1).all());
+        if (tasks.size() <= pageSize) {
+            return new CursorPageDTO<>(mapTasks(tasks), null);
         }
 
-        Sort sort = Sort.by(Sort.Direction.ASC, sortBy);
-        return mapTasks(taskRepository.findAll(sort));
+        List<Task> page = tasks.subList(0, pageSize);
+        return new CursorPageDTO<>(mapTasks(page), keyset.cursorAfter(page.get(pageSize - 1)));
+    }
+
+    /**
+     * Streams the tasks matching the optional filters to the consumer, in ID order.
+     * <p>
+     * Rows come from a streaming JDBC result and each task is detached once it has been mapped,
+     * so neither the driver nor the persistence context holds on to earlier rows and memory use
+     * does not grow with the number of tasks exported.
+     *
+     * @param projectId only export tasks of this project, or {@code null} for all
+     * @param userId    only export tasks assigned to this user, or {@code null} for all
+     * @param status    only export tasks with this status, or {@code null} for all
+     * @param consumer  receives each task as a DTO
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Long projectId, Long userId, TaskStatus status, Consumer<TaskResponseDTO> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamForExport(projectId, userId, status)) {
+            tasks.forEach(task -> {
+                consumer.accept(TaskMapper.toDTO(task));
+                entityManager.detach(task);
+            });
+        }
     }
 
     /**
@@ -138,23 +199,23 @@ public class TaskService implements TaskServiceInterface {
 
     @Auditable(actionType = "UPDATE", entityType = "Task")
     public TaskResponseDTO updateTask(Long id, @Valid TaskRequestDTO dto) {
-        Task existing = taskRepository.findById(id)
+        // Reuses the task if it was already loaded in this request
+        Task existing = taskAccessCache.task(id, taskRepository::findById)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
 
         //  Use helper method to get authenticated user
         User currentUser = getAuthenticatedUser();
 
+        // The lazy user reference already holds its ID, so this check does not query
         if (existing.getUser() == null || !existing.getUser().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You are not allowed to update this task.");
         }
 
-        User assignedUser = (dto.getUserId() != null)
-                ? userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("Developer with ID " + dto.getUserId() + " not found"))
-                : null;
+        User assignedUser = userReference(dto.getUserId());
+        Project project = projectRepository.getReferenceById(dto.getProjectId());
 
-        Project project = projectRepository.findById(dto.getProjectId())
-                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + dto.getProjectId() + " not found"));
+        AuditContext.recordBefore(TaskMapper.toDTO(existing));
+        TaskCounters.Group previousGroup = TaskCounters.groupOf(existing);
 
         // Update task
         existing.setTitle(dto.getTitle());
@@ -164,7 +225,13 @@ public class TaskService implements TaskServiceInterface {
         existing.setUser(assignedUser);
         existing.setProject(project);
 
-        return TaskMapper.toDTO(taskRepository.save(existing));
+        Task saved = saveWithReferences(existing, dto);
+        taskAccessCache.evict(id);
+        TaskResponseDTO updated = TaskMapper.toDTO(saved);
+        overdueTaskIndex.put(updated);
+        taskSearchIndex.put(updated);
+        taskCounters.moved(previousGroup, TaskCounters.groupOf(saved));
+        return updated;
     }
 
     /**
@@ -178,7 +245,25 @@ public class TaskService implements TaskServiceInterface {
     public void deleteTask(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
+        TaskCounters.Group group = TaskCounters.groupOf(task);
         taskRepository.delete(task);
+        overdueTaskIndex.remove(id);
+        taskSearchIndex.remove(id);
+        taskCounters.moved(group, null);
+    }
+
+    /**
+     * Searches task titles and descriptions, best match first. See {@link TaskSearchIndex}.
+     *
+     * @param query     the search text; the last word also matches as a prefix
+     * @param projectId only return tasks of this project, or {@code null} for all
+     * @param status    only return tasks with this status, or {@code null} for all
+     * @param limit     the maximum number of tasks to return, capped at {@value #MAX_SEARCH_RESULTS}
+     * @return the matching tasks
+     */
+
+    public List<TaskResponseDTO> searchTasks(String query, Long projectId, TaskStatus status, int limit) {
+        return taskSearchIndex.search(query, projectId, status, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
     }
 
     /**
@@ -190,21 +275,28 @@ public class TaskService implements TaskServiceInterface {
      */
 
     @Auditable(actionType = "GET", entityType = "Task")
+    @Transactional(readOnly = true)
     public List<TaskResponseDTO> getTasksByProjectId(Long projectId) {
-        projectRepository.findById(projectId)
-                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + projectId + " not found"));
+        if (!projectRepository.existsById(projectId)) {
+            throw new ProjectNotFoundException("Project with ID " + projectId + " not found");
+        }
 
-        return mapTasks(taskRepository.findByProjectId(projectId));
+        return taskRepository.findDtosByProjectId(projectId);
     }
 
     /**
-     * Retrieves tasks that are overdue and not marked as completed.
+     * Retrieves tasks that are overdue and not marked as done, earliest due date first.
+     * <p>
+     * Served from the {@link OverdueTaskIndex}; the database is only queried until the index has loaded.
      *
      * @return a list of overdue task DTOs
      */
 
     public List<TaskResponseDTO> getOverdueTasks() {
-        return mapTasks(taskRepository.findByDueDateBeforeAndStatusNot(LocalDate.now(), "COMPLETED"));
+        if (overdueTaskIndex.isReady()) {
+            return overdueTaskIndex.overdue(LocalDate.now());
+        }
+        return taskRepository.findOverdueDtos(LocalDate.now(), TaskStatus.DONE);
     }
 
     /**
@@ -218,13 +310,50 @@ public class TaskService implements TaskServiceInterface {
     }
 
     /**
-     * Retrieves the count of tasks grouped by their status (e.g., PENDING, COMPLETED).
+     * Retrieves the number of tasks in each status, served from {@link TaskCounters}.
+     *
+     * @return the task count per status, including statuses with no tasks
+     */
+
+    public Map<TaskStatus, Long> getTaskCountsByStatus() {
+        return taskCounters.isReady() ? taskCounters.overall() : countByStatus(null, null);
+    }
+
+    /**
+     * Retrieves the number of tasks in each status for a project, served from {@link TaskCounters}.
+     * An unknown project has no tasks, so every count is zero.
      *
-     * @return a list of projections containing status and task count
+     * @param projectId the ID of the project
+     * @return the task count per status
+     */
+
+    public Map<TaskStatus, Long> getTaskCountsByProject(Long projectId) {
+        return taskCounters.isReady() ? taskCounters.forProject(projectId) : countByStatus(projectId, null);
+    }
+
+    /**
+     * Retrieves the number of tasks in each status assigned to a developer, served from {@link TaskCounters}.
+     * An unknown user has no tasks, so every count is zero.
+     *
+     * @param userId the ID of the developer
+     * @return the task count per status
      */
 
-    public List<TaskRepository.TaskStatusCountProjection> getTaskCountsByStatus() {
-        return taskRepository.getTaskCountGroupedByStatus();
+    public Map<TaskStatus, Long> getTaskCountsByUser(Long userId) {
+        return taskCounters.isReady() ? taskCounters.forUser(userId) : countByStatus(null, userId);
+    }
+
+    /**
+     * Counts tasks per status in the database; used until the counters have loaded.
+     */
+    private Map<TaskStatus, Long> countByStatus(Long projectId, Long userId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        taskRepository.countGroupedByStatus(projectId, userId)
+                .forEach(row -> counts.put(row.getStatus(), row.getCount()));
+        return counts;
     }
 
     /**
@@ -247,11 +376,41 @@ public class TaskService implements TaskServiceInterface {
      */
     @Auditable(actionType = "GET", entityType = "Task")
     @Cacheable("tasks")
+    @Transactional(readOnly = true)
     public List<TaskResponseDTO> getTasksByUserId(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " not found");
+        }
+
+        return taskRepository.findDtosByUserId(userId);
+    }
 
-        return mapTasks(taskRepository.findByUserId(userId));
+    /**
+     * Returns an unloaded reference to the user, or {@code null} if no user is given.
+     */
+    private User userReference(Long userId) {
+        return userId != null ? userRepository.getReferenceById(userId) : null;
+    }
+
+    /**
+     * Saves and flushes a task whose user and project were attached by reference.
+     * The foreign keys guarantee that both exist; a violation is reported as the matching 404.
+     *
+     * @throws UserNotFoundException    if the referenced user does not exist
+     * @throws ProjectNotFoundException if the referenced project does not exist
+     */
+    private Task saveWithReferences(Task task, TaskRequestDTO dto) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException ex) {
+            if (ForeignKeyViolations.isViolationOf(ex, "project_id")) {
+                throw new ProjectNotFoundException("Project with ID " + dto.getProjectId() + " not found");
+            }
+            if (ForeignKeyViolations.isViolationOf(ex, "user_id")) {
+                throw new UserNotFoundException("User with ID " + dto.getUserId() + " not found");
+            }
+            throw ex;
+        }
     }
 
     /**
@@ -3,10 +3,14 @@ package com.example.project_tracker.service;
 import com.example.project_tracker.DTO.request.UserRequestDTO;
 import com.example.project_tracker.DTO.response.UserResponseDTO;
 import com.example.project_tracker.annotations.Auditable;
+import com.example.project_tracker.aspects.AuditContext;
 import com.example.project_tracker.exceptions.EmailAlreadyExistsException;
+import com.example.project_tracker.exceptions.UserNotFoundException;
 import com.example.project_tracker.models.User;
 import com.example.project_tracker.repository.UserRepository;
 import com.example.project_tracker.security.CustomUserDetails;
+import com.example.project_tracker.security.CustomUserDetailsService;
+import com.example.project_tracker.security.TokenEpochRegistry;
 import com.example.project_tracker.service.interfaces.UserServiceInterface;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,16 +34,27 @@ public class UserService implements UserServiceInterface {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Constructs the UserService with required dependencies.
      *
-     * @param userRepository  repository for accessing user data
-     * @param passwordEncoder encoder for securing user passwords
+     * @param userRepository     repository for accessing user data
+     * @param passwordEncoder    encoder for securing user passwords
+     * @param userDetailsService principal cache to evict when a user changes
+     * @param tokenEpochRegistry registry that stateless tokens are checked against
+     * @param refreshTokenService service whose refresh tokens are revoked on a password change
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CustomUserDetailsService userDetailsService, TokenEpochRegistry tokenEpochRegistry,
+                       RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -62,7 +77,8 @@ public class UserService implements UserServiceInterface {
                 .roles(requestDTO.getRoles())
                 .build();
 
-        userRepository.save(user);
+        User saved = userRepository.save(user);
+        tokenEpochRegistry.update(saved.getId(), saved.getTokenEpoch(), saved.getRoles());
     }
 
     /**
@@ -78,6 +94,11 @@ public class UserService implements UserServiceInterface {
         if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             User user = getAuthenticatedUser();
+            if (!userDetails.isFullyLoaded()) {
+                // Stateless principals only carry the ID, email and role
+                user = userRepository.findById(user.getId())
+                        .orElseThrow(() -> new UserNotFoundException("User with ID " + userDetails.getUser().getId() + " not found"));
+            }
             return UserResponseDTO.fromEntity(user);
         }
 
@@ -93,16 +114,27 @@ public class UserService implements UserServiceInterface {
      */
     @Auditable(actionType = "UPDATE", entityType = "User")
     public UserResponseDTO updateUserDetails(UserRequestDTO requestDTO) {
-        User user = getAuthenticatedUser();
+        // The principal's User is shared through the principal cache, so change a fresh copy
+        Long userId = getAuthenticatedUser().getId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
+        AuditContext.recordBefore(UserResponseDTO.fromEntity(user));
 
         user.setName(requestDTO.getName());
         user.setSkills(requestDTO.getSkills());
 
         if (requestDTO.getPassword() != null && !requestDTO.getPassword().isBlank()) {
             user.setPassword(passwordEncoder.encode(requestDTO.getPassword()));
+            // A new password invalidates the user's existing stateless tokens
+            user.setTokenEpoch(user.getTokenEpoch() + 1);
         }
 
         User updatedUser = userRepository.save(user);
+        if (requestDTO.getPassword() != null && !requestDTO.getPassword().isBlank()) {
+            refreshTokenService.revokeAllForUser(updatedUser.getId());
+        }
+        userDetailsService.evict(updatedUser.getEmail());
+        tokenEpochRegistry.update(updatedUser.getId(), updatedUser.getTokenEpoch(), updatedUser.getRoles());
         return UserResponseDTO.fromEntity(updatedUser);
     }
 
@@ -115,6 +147,8 @@ public class UserService implements UserServiceInterface {
     public void deleteLoggedInUser() {
         User user = getAuthenticatedUser();
         userRepository.deleteById(user.getId());
+        userDetailsService.evict(user.getEmail());
+        tokenEpochRegistry.remove(user.getId());
     }
 
     /**
@@ -137,10 +171,11 @@ public class UserService implements UserServiceInterface {
      */
     @Auditable(actionType = "DELETE", entityType = "User")
     public void deleteUserById(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User with ID " + userId + " does not exist");
-        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User with ID " + userId + " does not exist"));
         userRepository.deleteById(userId);
+        userDetailsService.evict(user.getEmail());
+        tokenEpochRegistry.remove(userId);
     }
 
     /**
@@ -1,16 +1,32 @@
 package com.example.project_tracker.service.interfaces;
 
+import com.example.project_tracker.DTO.response.AuditStatsBucketDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
+import com.example.project_tracker.enums.RollupGranularity;
 import com.example.project_tracker.models.AuditLog;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface AuditLogServiceInterface {
 
     void logAction(String actionType, String entityType, String entityId, String actorName, Object dataSnapshot);
 
-    List<AuditLog> getLogsByEntityType(String entityType);
+    void countAction(String actionType, String entityType, String actorName);
 
-    List<AuditLog> getLogsByActorName(String actorName);
+    void logSummary(String actionType, String entityType, String actorName, Object summary);
 
-    List<AuditLog> getAllLogs();
+    List<AuditLog> getLogsByEntityType(String entityType, Instant from, Instant to);
+
+    List<AuditLog> getLogsByActorName(String actorName, Instant from, Instant to);
+
+    CursorPageDTO<AuditLog> getLogsPage(String cursor, int limit);
+
+    void streamAllLogs(Consumer<AuditLog> consumer);
+
+    List<AuditStatsBucketDTO> getStats(RollupGranularity granularity, Instant from, Instant to,
+                                       String entityType, String actionType, String actorName,
+                                       Set<String> groupBy);
 }
@@ -1,18 +1,21 @@
 package com.example.project_tracker.service.interfaces;
 
 import com.example.project_tracker.DTO.request.TaskRequestDTO;
+import com.example.project_tracker.DTO.response.CursorPageDTO;
 import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
 import com.example.project_tracker.repository.TaskRepository;
 import com.example.project_tracker.models.Project;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskServiceInterface {
 
     TaskResponseDTO createTask(@Valid TaskRequestDTO dto);
 
-    List<TaskResponseDTO> getAllTasks(String sortBy);
+    CursorPageDTO<TaskResponseDTO> getAllTasks(String sortBy, String direction, String cursor, int limit);
 
     TaskResponseDTO getTaskById(Long id);
 
@@ -20,6 +23,8 @@ public interface TaskServiceInterface {
 
     void deleteTask(Long id);
 
+    List<TaskResponseDTO> searchTasks(String query, Long projectId, TaskStatus status, int limit);
+
     List<TaskResponseDTO> getTasksByProjectId(Long projectId);
 
 //    List<TaskResponseDTO> getTasksByDeveloperId(Long developerId);
@@ -30,5 +35,9 @@ public interface TaskServiceInterface {
 
     List<Project> getProjectsWithoutTasks();
 
-    List<TaskRepository.TaskStatusCountProjection> getTaskCountsByStatus();
+    Map<TaskStatus, Long> getTaskCountsByStatus();
+
+    Map<TaskStatus, Long> getTaskCountsByProject(Long projectId);
+
+    Map<TaskStatus, Long> getTaskCountsByUser(Long userId);
 }
@@ -0,0 +1,30 @@
+package com.example.project_tracker.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory bookkeeping until the surrounding transaction has committed, so a rolled-back
+ * write never shows up in caches, indexes or counters.
+ */
+public class AfterCommit {
+
+    private AfterCommit() {}
+
+    /**
+     * Runs the action after the current transaction commits, or right away if there is none.
+     * The action is dropped if the transaction rolls back.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
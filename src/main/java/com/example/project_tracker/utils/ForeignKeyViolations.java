@@ -0,0 +1,33 @@
+package com.example.project_tracker.utils;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Helpers for telling which foreign key a failed write violated.
+ * <p>
+ * Writes attach associations by reference and let the database check that the referenced rows
+ * exist, so a missing user or project shows up as a foreign key violation on flush.
+ */
+public class ForeignKeyViolations {
+
+    private ForeignKeyViolations() {}
+
+    /**
+     * Returns whether the exception is a foreign key violation on the given column.
+     * Matches MySQL's message, which names the column as {@code FOREIGN KEY (`column`)}.
+     *
+     * @param ex     the exception thrown by the write
+     * @param column the foreign key column, such as {@code user_id}
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException ex, String column) {
+        String message = ex.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return false;
+        }
+        String normalized = message.toLowerCase(Locale.ROOT);
+        return normalized.contains("foreign key constraint fails")
+                && normalized.contains("foreign key (`" + column + "`)");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.project_tracker.utils;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from {@code long} keys to non-negative {@code int} values, stored in two primitive arrays.
+ * <p>
+ * Keys are placed by linear probing and removals shift the following entries back, so the map never
+ * fills up with deleted markers. It takes about a fifth of the memory of a {@code HashMap<Long, Integer>}
+ * and allocates nothing on lookups. Not thread-safe.
+ */
+public final class LongIntMap {
+
+    private static final double LOAD_FACTOR = 0.7;
+    private static final int ABSENT = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * @param expectedSize the number of entries to make room for up front
+     */
+    public LongIntMap(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit((int) (Math.max(expectedSize, 1) / LOAD_FACTOR)) << 1));
+    }
+
+    /**
+     * Returns the value of the key, or {@code -1} if the map does not contain it.
+     */
+    public int get(long key) {
+        for (int i = indexOf(key); ; i = (i + 1) & mask) {
+            if (values[i] == ABSENT || keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        int i = indexOf(key);
+        while (values[i] != ABSENT && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == ABSENT) {
+            if (size == resizeAt) {
+                grow();
+                put(key, value);
+                return;
+            }
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Removes the key and returns its value, or {@code -1} if the map did not contain it.
+     */
+    public int remove(long key) {
+        int gap = indexOf(key);
+        while (values[gap] != ABSENT && keys[gap] != key) {
+            gap = (gap + 1) & mask;
+        }
+        int removed = values[gap];
+        if (removed == ABSENT) {
+            return ABSENT;
+        }
+        // Move back every following entry that may sit in the gap, so no probe sequence is broken.
+        for (int i = (gap + 1) & mask; values[i] != ABSENT; i = (i + 1) & mask) {
+            if (((i - indexOf(keys[i])) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = ABSENT;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldValues.length << 1);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int j = indexOf(oldKeys[i]);
+                while (values[j] != ABSENT) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.project_tracker.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Holds an in-memory view of database state that is changed incrementally by writes and
+ * periodically rebuilt from the database.
+ * <p>
+ * Readers use {@link #current()} without locking. Changes are applied one at a time under the
+ * holder's lock, usually after the writing transaction commits. A rebuild loads a fresh snapshot
+ * without holding the lock; every change applied while it runs is recorded and replayed onto the
+ * fresh snapshot before it is swapped in, so a change is never lost to a rebuild that started
+ * before it. Changes must therefore be idempotent or, like counter deltas, only be replayed when
+ * the load cannot have seen them.
+ *
+ * @param <S> the snapshot type
+ */
+@Slf4j
+public class ReplayingSnapshot<S> {
+
+    private final String name;
+    private volatile S current;
+    private volatile boolean ready;
+    private List<Consumer<S>> pendingChanges;
+
+    /**
+     * @param name  what the snapshot holds, used in log messages
+     * @param empty the snapshot served until the first rebuild completes
+     */
+    public ReplayingSnapshot(String name, S empty) {
+        this.name = name;
+        this.current = empty;
+    }
+
+    /**
+     * Returns the current snapshot. It may be empty until {@link #isReady()} is true.
+     */
+    public S current() {
+        return current;
+    }
+
+    /**
+     * Returns whether a rebuild has completed, so the snapshot reflects the database.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies a change to the current snapshot now, and to the next one if a rebuild is running.
+     */
+    public synchronized void apply(Consumer<S> change) {
+        change.accept(current);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Applies a change once the surrounding transaction commits, or now if there is none.
+     */
+    public void applyAfterCommit(Consumer<S> change) {
+        AfterCommit.run(() -> apply(change));
+    }
+
+    /**
+     * Loads a fresh snapshot and swaps it in, replaying the changes applied while it loaded.
+     * A failed load is logged and leaves the current snapshot in place. Does nothing if another
+     * rebuild is already running.
+     *
+     * @param loader  builds the fresh snapshot, typically from a database query
+     * @param onSwap  called under the lock with the previous and the fresh snapshot just before the
+     *                swap, if a previous rebuild had completed; used to measure drift
+     * @return whether the fresh snapshot was swapped in
+     */
+    public boolean rebuild(Callable<S> loader, BiConsumer<S, S> onSwap) {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                return false;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+
+        S rebuilt;
+        try {
+            rebuilt = loader.call();
+        } catch (Exception e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Failed to load the {}, keeping the previous one", name, e);
+            return false;
+        }
+
+        synchronized (this) {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            if (ready && onSwap != null) {
+                onSwap.accept(current, rebuilt);
+            }
+            current = rebuilt;
+            ready = true;
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds only if no rebuild has completed yet; used to retry a failed initial load.
+     */
+    public boolean rebuildIfNotReady(Callable<S> loader) {
+        return !ready && rebuild(loader, null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.project_tracker.aspects;
+
+import com.example.project_tracker.DTO.request.LoginRequestDTO;
+import com.example.project_tracker.service.AuditAggregator;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class LoginAuditAspectTest {
+
+    private final AuditLogServiceInterface auditLogService = mock(AuditLogServiceInterface.class);
+    private final AuditAggregator auditAggregator = mock(AuditAggregator.class);
+    private final LoginAuditAspect aspect = new LoginAuditAspect();
+
+    @BeforeEach
+    void inject() {
+        ReflectionTestUtils.setField(aspect, "auditLogService", auditLogService);
+        ReflectionTestUtils.setField(aspect, "auditAggregator", auditAggregator);
+    }
+
+    @Test
+    void countsFailedLoginsWithoutKeyingOnTheSubmittedEmail() throws Throwable {
+        for (int i = 0; i < 3; i++) {
+            ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+            LoginRequestDTO request = new LoginRequestDTO();
+            request.setEmail("guess" + i + "@example.com");
+            when(joinPoint.getArgs()).thenReturn(new Object[] {request});
+            when(joinPoint.proceed()).thenThrow(new BadCredentialsException("Bad credentials"));
+
+            assertThatThrownBy(() -> aspect.logLoginAction(joinPoint)).isInstanceOf(BadCredentialsException.class);
+        }
+
+        verify(auditLogService, times(3)).countAction("LOGIN_FAILED", "User", null);
+        verify(auditAggregator, times(3)).increment("LOGIN_FAILED", "User", null);
+        verifyNoMoreInteractions(auditLogService, auditAggregator);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.project_tracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditBackendEnvironmentPostProcessorTest {
+
+    private final AuditBackendEnvironmentPostProcessor postProcessor = new AuditBackendEnvironmentPostProcessor();
+
+    @Test
+    void localBackendExcludesMongoAutoConfiguration() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("audit.backend", "local")
+                .withProperty("spring.autoconfigure.exclude", "com.example.Other");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        String excluded = environment.getProperty("spring.autoconfigure.exclude");
+        assertThat(excluded).startsWith("com.example.Other,");
+        assertThat(excluded.split(","))
+                .containsAll(AuditBackendEnvironmentPostProcessor.MONGO_AUTO_CONFIGURATIONS);
+        assertThat(environment.getProperty("spring.data.mongodb.auto-index-creation")).isEqualTo("false");
+    }
+
+    @Test
+    void mongoBackendLeavesAutoConfigurationAlone() {
+        MockEnvironment environment = new MockEnvironment().withProperty("audit.backend", "mongo");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty("spring.autoconfigure.exclude")).isNull();
+    }
+}
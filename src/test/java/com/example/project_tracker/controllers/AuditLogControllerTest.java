@@ -0,0 +1,56 @@
+package com.example.project_tracker.controllers;
+
+import com.example.project_tracker.models.AuditLog;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuditLogControllerTest {
+
+    private static final long ASYNC_TIMEOUT_MILLIS = 100;
+
+    private final AuditLogServiceInterface auditLogService = mock(AuditLogServiceInterface.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new AuditLogController(auditLogService, new ObjectMapper().findAndRegisterModules()))
+            .setAsyncRequestTimeout(ASYNC_TIMEOUT_MILLIS)
+            .build();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportSlowerThanTheAsyncTimeoutIsWrittenInFull() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AuditLog> consumer = invocation.getArgument(0);
+            for (int i = 0; i < 3; i++) {
+                Thread.sleep(ASYNC_TIMEOUT_MILLIS);
+                consumer.accept(new AuditLog("id" + i, "CREATE", "Task", Integer.toString(i),
+                        Instant.EPOCH, "manager@example.com", Map.of()));
+            }
+            return null;
+        }).when(auditLogService).streamAllLogs(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/logs").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        assertThat(result.getRequest().isAsyncStarted()).isFalse();
+        assertThat(result.getResponse().getContentAsString().lines())
+                .hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"id\":\"id"));
+    }
+}
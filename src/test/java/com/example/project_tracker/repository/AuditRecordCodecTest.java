@@ -0,0 +1,77 @@
+package com.example.project_tracker.repository;
+
+import com.example.project_tracker.models.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRecordCodecTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2025-03-01T10:15:30.123456789Z");
+
+    private final AuditRecordCodec codec = new AuditRecordCodec(new ObjectMapper());
+
+    @Test
+    void roundTripsHeaderAndPayload() {
+        AuditLog log = new AuditLog("65f1c0ffee", "UPDATE", "Task", "42", TIMESTAMP, "Ada@Example.com",
+                Map.of("title", "Ünïcödé", "count", 3));
+        ByteBuffer segment = ByteBuffer.wrap(codec.encode(log));
+
+        assertThat(AuditRecordCodec.validate(segment, 0, segment.limit())).isEqualTo(segment.limit());
+        assertThat(AuditRecordCodec.timestamp(segment, 0)).isEqualTo(TIMESTAMP);
+
+        AuditRecordCodec.Header header = codec.decodeHeader(segment, 0);
+        AuditLog decoded = header.log();
+        assertThat(decoded.getId()).isEqualTo("65f1c0ffee");
+        assertThat(decoded.getActionType()).isEqualTo("UPDATE");
+        assertThat(decoded.getEntityType()).isEqualTo("Task");
+        assertThat(decoded.getEntityId()).isEqualTo("42");
+        assertThat(decoded.getActorName()).isEqualTo("Ada@Example.com");
+        assertThat(decoded.getTimestamp()).isEqualTo(TIMESTAMP);
+        assertThat(decoded.getEntityTypeKey()).isEqualTo("task");
+        assertThat(decoded.getActorNameKey()).isEqualTo("ada@example.com");
+        assertThat(decoded.getPayload()).isNull();
+
+        codec.decodePayload(segment, header);
+        assertThat(decoded.getPayload()).containsExactlyInAnyOrderEntriesOf(Map.of("title", "Ünïcödé", "count", 3));
+    }
+
+    @Test
+    void keepsNullFieldsAndPayload() {
+        AuditLog log = new AuditLog("id", "DELETE", null, null, TIMESTAMP, null, null);
+        ByteBuffer segment = ByteBuffer.wrap(codec.encode(log));
+
+        AuditRecordCodec.Header header = codec.decodeHeader(segment, 0);
+        codec.decodePayload(segment, header);
+
+        assertThat(header.log().getEntityType()).isNull();
+        assertThat(header.log().getEntityId()).isNull();
+        assertThat(header.log().getActorName()).isNull();
+        assertThat(header.log().getEntityTypeKey()).isNull();
+        assertThat(header.log().getPayload()).isNull();
+    }
+
+    @Test
+    void findsRecordsBackToBackAndRejectsTornOrCorruptOnes() {
+        byte[] first = codec.encode(new AuditLog("1", "CREATE", "Task", "1", TIMESTAMP, "ada", Map.of("a", 1)));
+        byte[] second = codec.encode(new AuditLog("2", "CREATE", "Task", "2", TIMESTAMP, "ada", Map.of("b", 2)));
+        ByteBuffer segment = ByteBuffer.allocate(first.length + second.length).put(first).put(second).flip();
+
+        assertThat(AuditRecordCodec.validate(segment, 0, segment.limit())).isEqualTo(first.length);
+        assertThat(AuditRecordCodec.validate(segment, first.length, segment.limit())).isEqualTo(segment.limit());
+
+        // Torn: the second record was only partly written
+        assertThat(AuditRecordCodec.validate(segment, first.length, segment.limit() - 1)).isEqualTo(-1);
+        assertThat(AuditRecordCodec.validate(segment, first.length, first.length + 6)).isEqualTo(-1);
+
+        // Corrupt: a body byte flipped, so the checksum no longer matches
+        segment.put(first.length + 20, (byte) (segment.get(first.length + 20) ^ 1));
+        assertThat(AuditRecordCodec.validate(segment, first.length, segment.limit())).isEqualTo(-1);
+        assertThat(AuditRecordCodec.validate(segment, 0, segment.limit())).isEqualTo(first.length);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.project_tracker.repository;
+
+import com.example.project_tracker.models.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSegmentStoreRecoveryTest {
+
+    private static final Instant START = Instant.parse("2025-03-01T00:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private AuditSegmentStore store;
+
+    @AfterEach
+    void stopStore() throws Exception {
+        if (store != null) {
+            store.stop();
+        }
+    }
+
+    @Test
+    void truncatesATornTailAndKeepsAppending() throws Exception {
+        store = open(64L * 1024 * 1024);
+        for (int i = 0; i < 3; i++) {
+            store.append(record(i));
+        }
+        store.stop();
+
+        // A crash in the middle of the next write leaves half a record behind
+        Path segment = segmentFiles().get(0);
+        long committedSize = Files.size(segment);
+        byte[] torn = new AuditRecordCodec(objectMapper).encode(record(3));
+        Files.write(segment, Arrays.copyOf(torn, torn.length / 2), StandardOpenOption.APPEND);
+
+        store = open(64L * 1024 * 1024);
+        assertThat(Files.size(segment)).isEqualTo(committedSize);
+        assertThat(entityIds(Instant.EPOCH, START.plusSeconds(3600))).containsExactly("2", "1", "0");
+
+        store.append(record(4));
+        store.stop();
+        store = open(64L * 1024 * 1024);
+        assertThat(entityIds(Instant.EPOCH, START.plusSeconds(3600))).containsExactly("4", "2", "1", "0");
+    }
+
+    @Test
+    void recoversSealedSegmentsFromTheirIndex() throws Exception {
+        store = open(1024);
+        for (int i = 0; i < 40; i++) {
+            store.append(record(i));
+        }
+        store.stop();
+        assertThat(segmentFiles()).hasSizeGreaterThan(2);
+
+        store = open(1024);
+        assertThat(entityIds(Instant.EPOCH, START.plusSeconds(3600))).hasSize(40).first().isEqualTo("39");
+        assertThat(entityIds(START.plusMillis(9_500), START.plusMillis(12_500))).containsExactly("12", "11", "10");
+    }
+
+    private AuditSegmentStore open(long segmentBytes) throws IOException {
+        AuditSegmentStore opened = new AuditSegmentStore(objectMapper, new SimpleMeterRegistry(),
+                directory.toString(), segmentBytes, 4, 1000, 1, 1000, 36500);
+        opened.start();
+        return opened;
+    }
+
+    private List<String> entityIds(Instant from, Instant to) {
+        List<String> ids = new ArrayList<>();
+        store.scan(from, to, null, log -> true, (log, position) -> ids.add(log.getEntityId()));
+        return ids;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static AuditLog record(int n) {
+        return new AuditLog("id-" + n, "UPDATE", "Task", Integer.toString(n), START.plusSeconds(n), "ada",
+                Map.of("n", n));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.project_tracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptTrackerTest {
+
+    private final LoginAttemptTracker tracker = new LoginAttemptTracker(new SimpleMeterRegistry(), 100_000, 300, 5, 20);
+
+    @Test
+    void throttlesAnEmailAfterTooManyFailures() {
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("Alice@Example.com", null);
+        }
+        assertThat(tracker.retryAfterSeconds("alice@example.com", null)).isZero();
+
+        tracker.recordFailure(" alice@example.com ", null);
+
+        assertThat(tracker.retryAfterSeconds("alice@example.com", null)).isBetween(1L, 300L);
+        assertThat(tracker.retryAfterSeconds("bob@example.com", null)).isZero();
+    }
+
+    @Test
+    void failuresAgainstManyOtherEmailsDoNotThrottleAnInnocentOne() {
+        for (int i = 0; i < 50_000; i++) {
+            String email = "user" + i + "@example.com";
+            for (int attempt = 0; attempt < 5; attempt++) {
+                tracker.recordFailure(email, null);
+            }
+        }
+
+        assertThat(tracker.retryAfterSeconds("innocent@example.com", null)).isZero();
+    }
+
+    @Test
+    void throttlesAnIpAcrossEmails() {
+        for (int i = 0; i < 20; i++) {
+            tracker.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThat(tracker.retryAfterSeconds("new@example.com", "10.0.0.1")).isPositive();
+        assertThat(tracker.retryAfterSeconds("new@example.com", "10.0.0.2")).isZero();
+    }
+}
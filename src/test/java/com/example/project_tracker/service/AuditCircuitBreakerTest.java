@@ -0,0 +1,36 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.CircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditCircuitBreakerTest {
+
+    private final AuditCircuitBreaker breaker = new AuditCircuitBreaker(new SimpleMeterRegistry(), 1, 1000, 0);
+
+    @Test
+    void letsOneTrialThroughOnceOpen() {
+        breaker.recordFailure();
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        breaker.recordSuccess(0);
+        assertThat(breaker.state()).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void releasedTrialCanBeTakenAgain() {
+        breaker.recordFailure();
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.releaseTrial();
+
+        assertThat(breaker.state()).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.AuditOverflowPolicy;
+import com.example.project_tracker.enums.CircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogWriterTest {
+
+    private final AuditSpool auditSpool = mock(AuditSpool.class);
+    private final AuditCircuitBreaker circuitBreaker = new AuditCircuitBreaker(new SimpleMeterRegistry(), 1, 1000, 0);
+    private final AuditLogWriter writer = new AuditLogWriter(mock(MongoTemplate.class), auditSpool, circuitBreaker,
+            new SimpleMeterRegistry(), 100, 10, 5, AuditOverflowPolicy.BLOCK);
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayThatWritesNothingDoesNotHoldTheHalfOpenTrial() {
+        // Every remaining record is unreadable, so the replay never hands a batch to MongoDB
+        when(auditSpool.hasPending()).thenReturn(true);
+        when(auditSpool.replay(anyInt(), anyInt(), any(Consumer.class))).thenReturn(0);
+        circuitBreaker.recordFailure();
+
+        writer.start();
+
+        verify(auditSpool, timeout(2000).atLeast(3)).replay(anyInt(), anyInt(), any(Consumer.class));
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitState.HALF_OPEN);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayThatFailsBeforeWritingDoesNotHoldTheHalfOpenTrial() {
+        when(auditSpool.hasPending()).thenReturn(true);
+        when(auditSpool.replay(anyInt(), anyInt(), any(Consumer.class)))
+                .thenThrow(new UncheckedIOException(new IOException("disk error")));
+        circuitBreaker.recordFailure();
+
+        writer.start();
+
+        verify(auditSpool, timeout(2000).atLeast(3)).replay(anyInt(), anyInt(), any(Consumer.class));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.models.AuditRollup;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditRollupServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:15:30Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations ops = mock(BulkOperations.class);
+    private final AuditRollupService service = new AuditRollupService(mongoTemplate, 7);
+
+    @BeforeEach
+    void stubBulk() {
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(AuditRollup.class))).thenReturn(ops);
+        when(ops.upsert(any(Query.class), any(Update.class))).thenReturn(ops);
+    }
+
+    @Test
+    void requeuesOnlyTheUpsertsThatFailed() {
+        service.increment("UPDATE", "Task", "a@example.com", NOW);
+        service.increment("UPDATE", "Task", "a@example.com", NOW);
+        service.increment("CREATE", "Project", "b@example.com", NOW);
+        doThrow(partialFailure(1)).doReturn(null).when(ops).execute();
+
+        Map<Document, Long> first = flush();
+        assertThat(first).hasSize(4);
+
+        Map<Document, Long> retried = flush();
+        Document failed = first.keySet().toArray(Document[]::new)[1];
+        assertThat(retried).containsExactly(Map.entry(failed, first.get(failed)));
+    }
+
+    @Test
+    void requeuesEverythingWhenTheBulkFailsAsAWhole() {
+        service.increment("UPDATE", "Task", "a@example.com", NOW);
+        service.increment("CREATE", "Project", "b@example.com", NOW);
+        doThrow(new DataAccessResourceFailureException("timeout")).doReturn(null).when(ops).execute();
+
+        Map<Document, Long> first = flush();
+        Map<Document, Long> retried = flush();
+
+        assertThat(retried).isEqualTo(first);
+    }
+
+    /**
+     * Flushes and returns the upserts sent, in order, as the query and its increment.
+     */
+    private Map<Document, Long> flush() {
+        clearInvocations(ops);
+        service.flush();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(ops, atLeastOnce()).upsert(queries.capture(), updates.capture());
+        Map<Document, Long> upserts = new LinkedHashMap<>();
+        for (int i = 0; i < queries.getAllValues().size(); i++) {
+            Document increment = (Document) updates.getAllValues().get(i).getUpdateObject().get("$inc");
+            upserts.put(queries.getAllValues().get(i).getQueryObject(), ((Number) increment.get("count")).longValue());
+        }
+        return upserts;
+    }
+
+    private static BulkOperationException partialFailure(int index) {
+        BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), index);
+        MongoBulkWriteException cause = new MongoBulkWriteException(BulkWriteResult.unacknowledged(), List.of(error),
+                null, new ServerAddress());
+        return new BulkOperationException("bulk failed", cause);
+    }
+}
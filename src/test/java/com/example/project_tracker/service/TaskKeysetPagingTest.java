@@ -0,0 +1,106 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.ProjectStatus;
+import com.example.project_tracker.enums.Roles;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.models.Project;
+import com.example.project_tracker.models.Task;
+import com.example.project_tracker.models.User;
+import com.example.project_tracker.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through tasks with {@link TaskKeyset} against a database and checks that the pages
+ * join up to the full ordering, with no task skipped or repeated.
+ * <p>
+ * H2 runs in MySQL mode with nulls sorted low, as MySQL sorts them.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:keyset;MODE=MySQL;DEFAULT_NULL_ORDERING=LOW",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskKeysetPagingTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JAN_2 = LocalDate.of(2025, 1, 2);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void createTasks() {
+        User user = new User(null, "Dev", "dev@example.com", "secret", Set.of(), Roles.ROLE_DEVELOPER);
+        entityManager.persist(user);
+        Project project = new Project(null, "Project", null, JAN_2, ProjectStatus.STARTED, null, user);
+        entityManager.persist(project);
+
+        // Ties on every sort field, and null due dates in several statuses
+        LocalDate[] dueDates = {null, JAN_1, JAN_2, null, JAN_1, JAN_1, null, JAN_2, JAN_1, null, JAN_2};
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < dueDates.length; i++) {
+            entityManager.persist(new Task(null, "Task " + i, null, statuses[i % statuses.length], dueDates[i], project, user));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "dueDate, ASC", "dueDate, DESC",
+            "'dueDate,status', ASC", "'dueDate,status', DESC",
+            "'status,dueDate', ASC", "'status,dueDate', DESC"
+    })
+    void pagesJoinUpToTheFullOrder(String sortBy, String direction) {
+        TaskKeyset keyset = TaskKeyset.parse(sortBy, direction);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Specification<Task> filter = cursor != null ? keyset.after(cursor) : Specification.where(null);
+            List<Task> page = taskRepository.findBy(filter, query -> query.sortBy(keyset.sort()).limit(2).all());
+            page.forEach(task -> paged.add(task.getId()));
+            cursor = page.size() == 2 ? keyset.cursorAfter(page.get(1)) : null;
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(expectedOrder(sortBy, direction));
+    }
+
+    /**
+     * The order computed in memory: nulls first when ascending and last when descending, ID last.
+     */
+    private List<Long> expectedOrder(String sortBy, String direction) {
+        Comparator<Task> byDueDate = Comparator.comparing(Task::getDueDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+        Comparator<Task> byStatus = Comparator.comparing(task -> task.getStatus().name());
+        Comparator<Task> order = sortBy.startsWith("status")
+                ? byStatus.thenComparing(byDueDate)
+                : sortBy.contains("status") ? byDueDate.thenComparing(byStatus) : byDueDate;
+        order = order.thenComparing(Task::getId);
+        if (direction.equals("DESC")) {
+            order = order.reversed();
+        }
+        return taskRepository.findAll().stream().sorted(order).map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.models.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskKeysetTest {
+
+    @Test
+    void appendsIdAsTieBreakerAndDropsDuplicateFields() {
+        TaskKeyset keyset = TaskKeyset.parse("status, dueDate,status,id", "desc");
+
+        assertThat(keyset.sort()).isEqualTo(Sort.by(Sort.Direction.DESC, "status", "dueDate", "id"));
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndDirections() {
+        assertThatThrownBy(() -> TaskKeyset.parse("title", "ASC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid sort field: title");
+        assertThatThrownBy(() -> TaskKeyset.parse("dueDate", "sideways"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid sort direction: sideways");
+    }
+
+    @Test
+    void acceptsItsOwnCursorIncludingNullDueDates() {
+        TaskKeyset keyset = TaskKeyset.parse("dueDate,status", "ASC");
+
+        assertThatCode(() -> keyset.after(keyset.cursorAfter(task(7L, null, TaskStatus.TODO))))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> keyset.after(keyset.cursorAfter(task(8L, LocalDate.of(2025, 1, 31), TaskStatus.DONE))))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsCursorIssuedForADifferentSort() {
+        String cursor = TaskKeyset.parse("dueDate,status", "ASC")
+                .cursorAfter(task(7L, LocalDate.of(2025, 1, 31), TaskStatus.TODO));
+
+        assertThatThrownBy(() -> TaskKeyset.parse("status,dueDate", "ASC").after(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor for this sort order");
+        assertThatThrownBy(() -> TaskKeyset.parse("dueDate,status", "DESC").after(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor for this sort order");
+        assertThatThrownBy(() -> TaskKeyset.parse("dueDate", "ASC").after(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor for this sort order");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        TaskKeyset keyset = TaskKeyset.parse("status", "ASC");
+
+        assertThatThrownBy(() -> keyset.after("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        // A valid signature followed by a status that does not exist
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("ASC,status,id\nLOST\n1".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> keyset.after(forged))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static Task task(Long id, LocalDate dueDate, TaskStatus status) {
+        return new Task(id, "Task " + id, null, status, dueDate, null, null);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.response.TaskResponseDTO;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.exceptions.SearchIndexNotReadyException;
+import com.example.project_tracker.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        index = new TaskSearchIndex(taskRepository, transactionManager, meterRegistry, 1);
+    }
+
+    @Test
+    void tokenizesIntoLowercaseLettersAndDigits() {
+        assertThat(TaskSearchIndex.tokenize("Fix login-page BUG #42, déjà vu!"))
+                .containsExactly("fix", "login", "page", "bug", "42", "déjà", "vu");
+        assertThat(TaskSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(TaskSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void refusesSearchesUntilBuilt() {
+        assertThatThrownBy(() -> index.search("login", null, null, 10))
+                .isInstanceOf(SearchIndexNotReadyException.class);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        build(task(1L, "Update docs", "Mention the login flow", 1L, TaskStatus.TODO),
+                task(2L, "Login fails", "Users cannot sign in", 1L, TaskStatus.TODO),
+                task(3L, "Refactor billing", "Unrelated", 1L, TaskStatus.TODO));
+
+        assertThat(ids(index.search("login ", null, null, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void ranksRareTermsAboveCommonOnesAndRequiresEveryTerm() {
+        build(task(1L, "Cache the report", "report report", 1L, TaskStatus.TODO),
+                task(2L, "Report timeout", "report", 1L, TaskStatus.TODO),
+                task(3L, "Report export", "report", 1L, TaskStatus.TODO),
+                task(4L, "Export users", null, 1L, TaskStatus.TODO));
+
+        assertThat(ids(index.search("report timeout ", null, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("export ", null, null, 10))).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(ids(index.search("timeout report ", null, null, 1))).containsExactly(2L);
+    }
+
+    @Test
+    void matchesTheLastTermAsAPrefixOnlyWhileTyping() {
+        build(task(1L, "Deploy staging", null, 1L, TaskStatus.TODO),
+                task(2L, "Deployment checklist", null, 1L, TaskStatus.TODO));
+
+        assertThat(ids(index.search("deploy", null, null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("deploy ", null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void returnsATaskMatchingSeveralExpansionsOfAPrefixOnce() {
+        build(task(1L, "Deploy the deployment", null, 1L, TaskStatus.TODO),
+                task(2L, "Depend on staging", null, 1L, TaskStatus.TODO),
+                task(3L, "Staging deploy", null, 1L, TaskStatus.TODO));
+
+        assertThat(ids(index.search("dep", null, null, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("staging dep", null, null, 10))).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void filtersAndAppliesChangesAfterTheBuild() {
+        build(task(1L, "Write tests", null, 1L, TaskStatus.TODO),
+                task(2L, "Write docs", null, 2L, TaskStatus.DONE));
+
+        assertThat(ids(index.search("write ", 2L, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("write ", null, TaskStatus.TODO, 10))).containsExactly(1L);
+
+        index.put(task(1L, "Review tests", null, 1L, TaskStatus.TODO));
+        index.remove(2L);
+
+        assertThat(index.search("write ", null, null, 10)).isEmpty();
+        assertThat(ids(index.search("review", null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void reconcileRepairsChangesMadeOutsideTheServices() {
+        build(task(1L, "Write tests", null, 1L, TaskStatus.TODO),
+                task(2L, "Write docs", null, 1L, TaskStatus.TODO),
+                task(3L, "Write release notes", null, 1L, TaskStatus.TODO));
+
+        when(taskRepository.streamAllDtos()).thenReturn(Stream.of(
+                task(1L, "Write tests", null, 1L, TaskStatus.TODO),
+                task(2L, "Review docs", null, 1L, TaskStatus.TODO),
+                task(4L, "Write changelog", null, 1L, TaskStatus.TODO)));
+        index.reconcile();
+
+        assertThat(ids(index.search("write ", null, null, 10))).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(ids(index.search("review ", null, null, 10))).containsExactly(2L);
+        assertThat(meterRegistry.counter("tasks.search.reconcile.drift").count()).isEqualTo(3);
+    }
+
+    @Test
+    void reconcileKeepsChangesMadeWhileItScans() {
+        build(task(1L, "Write tests", null, 1L, TaskStatus.TODO),
+                task(2L, "Write docs", null, 1L, TaskStatus.TODO));
+
+        // The scan still returns the old title of task 1 and misses task 3, both written meanwhile
+        when(taskRepository.streamAllDtos()).thenReturn(Stream.of(
+                task(1L, "Write tests", null, 1L, TaskStatus.TODO),
+                task(2L, "Write docs", null, 1L, TaskStatus.TODO)).peek(task -> {
+                    if (task.getId() == 1L) {
+                        index.put(task(1L, "Review tests", null, 1L, TaskStatus.TODO));
+                        index.put(task(3L, "Review docs", null, 1L, TaskStatus.TODO));
+                    }
+                }));
+        index.reconcile();
+
+        assertThat(ids(index.search("review ", null, null, 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("write ", null, null, 10))).containsExactly(2L);
+    }
+
+    private void build(TaskResponseDTO... tasks) {
+        when(taskRepository.streamAllDtos()).thenReturn(Stream.of(tasks));
+        index.load();
+    }
+
+    private static List<Long> ids(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::getId).toList();
+    }
+
+    private static TaskResponseDTO task(Long id, String title, String description, Long projectId, TaskStatus status) {
+        return new TaskResponseDTO(id, title, description, status, null, projectId, 10L);
+    }
+}
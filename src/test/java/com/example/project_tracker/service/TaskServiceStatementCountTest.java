@@ -0,0 +1,132 @@
+package com.example.project_tracker.service;
+
+import com.example.project_tracker.DTO.request.TaskRequestDTO;
+import com.example.project_tracker.enums.ProjectStatus;
+import com.example.project_tracker.enums.Roles;
+import com.example.project_tracker.enums.TaskStatus;
+import com.example.project_tracker.models.Project;
+import com.example.project_tracker.models.Task;
+import com.example.project_tracker.models.User;
+import com.example.project_tracker.repository.ProjectRepository;
+import com.example.project_tracker.repository.TaskRepository;
+import com.example.project_tracker.repository.UserRepository;
+import com.example.project_tracker.security.CustomUserDetails;
+import com.example.project_tracker.security.TaskAccessCache;
+import com.example.project_tracker.service.interfaces.AuditLogServiceInterface;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Counts the SQL statements {@link TaskService} issues to create and update a task, with Hibernate
+ * statistics on. The user and project are attached by reference, so neither write selects them.
+ * <p>
+ * The persistence context is cleared before each write, so nothing is answered from the first-level
+ * cache, and a task is inserted up front, so the pooled sequence already holds IDs for the create.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskServiceStatementCountTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TaskService taskService;
+    private Statistics statistics;
+    private User user;
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService(taskRepository, userRepository, projectRepository,
+                mock(AuditLogServiceInterface.class), new TaskAccessCache(), entityManager,
+                mock(OverdueTaskIndex.class), mock(TaskSearchIndex.class), mock(TaskCounters.class),
+                new SimpleMeterRegistry());
+
+        user = new User(null, "Dev", "dev@example.com", "secret", Set.of(), Roles.ROLE_DEVELOPER);
+        entityManager.persist(user);
+        project = new Project(null, "Project", null, LocalDate.of(2025, 1, 1), ProjectStatus.STARTED, null, user);
+        entityManager.persist(project);
+        task = new Task(null, "Task", null, TaskStatus.TODO, null, project, user);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new CustomUserDetails(user.getId(), user.getEmail(), Roles.ROLE_DEVELOPER), null));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createIssuesOneInsertAndNoSelects() {
+        taskService.createTask(request("New task"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void updateIssuesOneSelectForTheTaskAndOneUpdate() {
+        taskService.updateTask(task.getId(), request("Renamed task"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    private TaskRequestDTO request(String title) {
+        TaskRequestDTO dto = new TaskRequestDTO();
+        dto.setTitle(title);
+        dto.setStatus(TaskStatus.IN_PROGRESS);
+        dto.setDueDate(LocalDate.of(2025, 2, 1));
+        dto.setUserId(user.getId());
+        dto.setProjectId(project.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.project_tracker.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForeignKeyViolationsTest {
+
+    private static final String PROJECT_FK_MESSAGE = "Cannot add or update a child row: a foreign key constraint fails "
+            + "(`project_tracker`.`task`, CONSTRAINT `FKk8qrwowg31kx7hp93sru1pdqa` FOREIGN KEY (`project_id`) "
+            + "REFERENCES `project` (`id`))";
+
+    @Test
+    void matchesTheColumnNamedInMySqlsMessage() {
+        DataIntegrityViolationException ex = violation(PROJECT_FK_MESSAGE);
+
+        assertThat(ForeignKeyViolations.isViolationOf(ex, "project_id")).isTrue();
+        assertThat(ForeignKeyViolations.isViolationOf(ex, "user_id")).isFalse();
+    }
+
+    @Test
+    void ignoresOtherIntegrityViolations() {
+        DataIntegrityViolationException ex = violation("Duplicate entry 'dev@example.com' for key 'user.UK_email'");
+
+        assertThat(ForeignKeyViolations.isViolationOf(ex, "project_id")).isFalse();
+        assertThat(ForeignKeyViolations.isViolationOf(ex, "user_id")).isFalse();
+    }
+
+    @Test
+    void ignoresAViolationWithoutAMessage() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException());
+
+        assertThat(ForeignKeyViolations.isViolationOf(ex, "project_id")).isFalse();
+    }
+
+    private static DataIntegrityViolationException violation(String mysqlMessage) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(mysqlMessage, "23000", 1452));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.project_tracker.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayingSnapshotTest {
+
+    private final ReplayingSnapshot<Map<String, Integer>> snapshot = new ReplayingSnapshot<>("test", new HashMap<>());
+
+    @Test
+    void replaysChangesMadeWhileLoading() {
+        boolean swapped = snapshot.rebuild(() -> {
+            Map<String, Integer> loaded = new HashMap<>(Map.of("a", 1, "b", 2));
+            // Committed after the load read its rows
+            snapshot.apply(current -> current.put("b", 20));
+            snapshot.apply(current -> current.remove("a"));
+            return loaded;
+        }, null);
+
+        assertThat(swapped).isTrue();
+        assertThat(snapshot.isReady()).isTrue();
+        assertThat(snapshot.current()).containsExactlyEntriesOf(Map.of("b", 20));
+    }
+
+    @Test
+    void keepsTheCurrentSnapshotWhenALoadFails() {
+        snapshot.rebuild(() -> new HashMap<>(Map.of("a", 1)), null);
+
+        boolean swapped = snapshot.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        }, null);
+        snapshot.apply(current -> current.put("b", 2));
+
+        assertThat(swapped).isFalse();
+        assertThat(snapshot.current()).containsOnlyKeys("a", "b");
+    }
+
+    @Test
+    void retriesOnlyUntilTheFirstLoadSucceeds() {
+        assertThat(snapshot.rebuildIfNotReady(() -> {
+            throw new IllegalStateException("database down");
+        })).isFalse();
+        assertThat(snapshot.isReady()).isFalse();
+
+        assertThat(snapshot.rebuildIfNotReady(() -> new HashMap<>(Map.of("a", 1)))).isTrue();
+        assertThat(snapshot.rebuildIfNotReady(() -> new HashMap<>())).isFalse();
+        assertThat(snapshot.current()).containsOnlyKeys("a");
+    }
+
+    @Test
+    void passesThePreviousSnapshotToOnSwapAfterTheFirstLoad() {
+        List<Integer> previousSizes = new ArrayList<>();
+        snapshot.rebuild(() -> new HashMap<>(Map.of("a", 1)), (previous, rebuilt) -> previousSizes.add(previous.size()));
+        snapshot.rebuild(() -> new HashMap<>(), (previous, rebuilt) -> previousSizes.add(previous.size()));
+
+        assertThat(previousSizes).containsExactly(1);
+    }
+
+    @Test
+    void skipsARebuildWhileAnotherIsRunning() {
+        boolean[] nested = new boolean[1];
+        snapshot.rebuild(() -> {
+            nested[0] = snapshot.rebuild(HashMap::new, null);
+            return new HashMap<>(Map.of("a", 1));
+        }, null);
+
+        assertThat(nested[0]).isFalse();
+        assertThat(snapshot.current()).containsOnlyKeys("a");
+    }
+}